@@ -0,0 +1,66 @@
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernel de somas mascaradas com a Vector API (jdk.incubator.vector): cada
+ * lane acumula as somas de um cromossomo do lote, e a máscara de genes de
+ * cada posição do catálogo vira a máscara de lanes. Só é carregado via
+ * KernelSomasMascaradas.criar(), quando o módulo incubator está presente.
+ * Fica fora de src para que o build padrão compile sem
+ * --add-modules jdk.incubator.vector
+ */
+public class KernelSomasVetorial implements KernelSomasMascaradas {
+    private static final VectorSpecies<Double> ESPECIE = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void somarLote(double[] custos, double[] tamanhos, double[] eficiencias, boolean[] mascaras,
+            int quantidade, double[] saida) {
+        int c = 0;
+        int limite = ESPECIE.loopBound(quantidade);
+        for (; c < limite; c += ESPECIE.length()) {
+            DoubleVector somaCusto = DoubleVector.zero(ESPECIE);
+            DoubleVector somaTamanho = DoubleVector.zero(ESPECIE);
+            DoubleVector somaEficiencia = DoubleVector.zero(ESPECIE);
+            DoubleVector selecionados = DoubleVector.zero(ESPECIE);
+
+            for (int j = 0; j < custos.length; j++) {
+                VectorMask<Double> mascara = VectorMask.fromArray(ESPECIE, mascaras, j * quantidade + c);
+                somaCusto = somaCusto.add(custos[j], mascara);
+                somaTamanho = somaTamanho.add(tamanhos[j], mascara);
+                somaEficiencia = somaEficiencia.add(eficiencias[j], mascara);
+                selecionados = selecionados.add(1.0, mascara);
+            }
+
+            somaCusto.intoArray(saida, c);
+            somaTamanho.intoArray(saida, quantidade + c);
+            somaEficiencia.intoArray(saida, 2 * quantidade + c);
+            selecionados.intoArray(saida, 3 * quantidade + c);
+        }
+
+        // Cromossomos que não completam um vetor
+        for (; c < quantidade; c++) {
+            double custo = 0;
+            double tamanho = 0;
+            double eficiencia = 0;
+            int numero = 0;
+            for (int j = 0; j < custos.length; j++) {
+                if (mascaras[j * quantidade + c]) {
+                    custo += custos[j];
+                    tamanho += tamanhos[j];
+                    eficiencia += eficiencias[j];
+                    numero++;
+                }
+            }
+            saida[c] = custo;
+            saida[quantidade + c] = tamanho;
+            saida[2 * quantidade + c] = eficiencia;
+            saida[3 * quantidade + c] = numero;
+        }
+    }
+
+    @Override
+    public String getNome() {
+        return "vetorial (" + ESPECIE.length() + " lanes)";
+    }
+}
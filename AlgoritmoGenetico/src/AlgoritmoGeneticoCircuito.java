@@ -2,8 +2,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Properties;
 import java.util.Random;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 /**
  * Implementação do Algoritmo Genético para otimização de design de circuitos
@@ -12,6 +14,7 @@ import java.util.Set;
  * energética e respeitar limitações de espaço da placa-mãe
  */
 public class AlgoritmoGeneticoCircuito {
+    private final ProblemaCircuito problema;
     private final List<Componente> componentesDisponiveis;
     private final int tamanhoPopulacao;
     private final int numeroGeracoes;
@@ -19,43 +22,101 @@ public class AlgoritmoGeneticoCircuito {
     private final double taxaCruzamento;
     private final double taxaElitismo;
     private final int tamanhoTorneio;
+    private final AvaliadorFitness avaliador;
     private final Random random;
+    private BiConsumer<Integer, CromossomoCircuito> ouvinteGeracao;
+    private boolean verboso = true;
 
-    public AlgoritmoGeneticoCircuito(List<Componente> componentesDisponiveis,
+    public AlgoritmoGeneticoCircuito(ProblemaCircuito problema,
             int tamanhoPopulacao,
             int numeroGeracoes,
             double taxaMutacao,
             double taxaCruzamento,
             double taxaElitismo,
             int tamanhoTorneio) {
-        this.componentesDisponiveis = componentesDisponiveis;
+        this(problema, tamanhoPopulacao, numeroGeracoes, taxaMutacao, taxaCruzamento,
+                taxaElitismo, tamanhoTorneio, new AvaliadorFitnessSincrono());
+    }
+
+    public AlgoritmoGeneticoCircuito(ProblemaCircuito problema,
+            int tamanhoPopulacao,
+            int numeroGeracoes,
+            double taxaMutacao,
+            double taxaCruzamento,
+            double taxaElitismo,
+            int tamanhoTorneio,
+            AvaliadorFitness avaliador) {
+        if (tamanhoPopulacao < 1 || numeroGeracoes < 1 || tamanhoTorneio < 1) {
+            throw new IllegalArgumentException(
+                    "Tamanho da população, número de gerações e tamanho do torneio devem ser positivos");
+        }
+        validarTaxa("mutação", taxaMutacao);
+        validarTaxa("cruzamento", taxaCruzamento);
+        validarTaxa("elitismo", taxaElitismo);
+        if (problema.getCatalogo().isEmpty()) {
+            throw new IllegalArgumentException("Catálogo de componentes vazio");
+        }
+
+        this.problema = problema;
+        this.componentesDisponiveis = problema.getCatalogo();
         this.tamanhoPopulacao = tamanhoPopulacao;
         this.numeroGeracoes = numeroGeracoes;
         this.taxaMutacao = taxaMutacao;
         this.taxaCruzamento = taxaCruzamento;
         this.taxaElitismo = taxaElitismo;
         this.tamanhoTorneio = tamanhoTorneio;
+        this.avaliador = avaliador;
         this.random = new Random();
     }
 
-    // Executa o algoritmo genético e retorna a melhor solução encontrada
+    // Cria o algoritmo com os parâmetros lidos das chaves do config.properties
+    public static AlgoritmoGeneticoCircuito aPartirDeConfiguracao(ProblemaCircuito problema, Properties config,
+            AvaliadorFitness avaliador) {
+        return new AlgoritmoGeneticoCircuito(
+                problema,
+                Integer.parseInt(config.getProperty("tamanho_populacao", "100")),
+                Integer.parseInt(config.getProperty("numero_geracoes", "200")),
+                Double.parseDouble(config.getProperty("taxa_mutacao", "0.15")),
+                Double.parseDouble(config.getProperty("taxa_cruzamento", "0.8")),
+                Double.parseDouble(config.getProperty("taxa_elitismo", "0.1")),
+                Integer.parseInt(config.getProperty("tamanho_torneio", "3")),
+                avaliador);
+    }
+
+    // Define se o progresso e a solução final são exibidos no console
+    public void setVerboso(boolean verboso) {
+        this.verboso = verboso;
+    }
+
+    // Registra um ouvinte chamado ao fim de cada geração com a melhor solução até o momento
+    public void setOuvinteGeracao(BiConsumer<Integer, CromossomoCircuito> ouvinteGeracao) {
+        this.ouvinteGeracao = ouvinteGeracao;
+    }
+
+    // Executa o algoritmo genético e retorna a melhor solução encontrada.
+    // Se a thread for interrompida, para e retorna a melhor solução até o momento
+    // (null se a avaliação da primeira geração foi interrompida)
     public CromossomoCircuito executar() {
         // Gera população inicial
         List<CromossomoCircuito> populacao = gerarPopulacaoInicial();
 
-        System.out.println("=== ALGORITMO GENÉTICO PARA OTIMIZAÇÃO DE CIRCUITOS ===");
-        System.out.println("População inicial: " + tamanhoPopulacao);
-        System.out.println("Gerações: " + numeroGeracoes);
-        System.out.println("Taxa de mutação: " + taxaMutacao);
-        System.out.println("Taxa de cruzamento: " + taxaCruzamento);
-        System.out.println();
+        if (verboso) {
+            System.out.println("=== ALGORITMO GENÉTICO PARA OTIMIZAÇÃO DE CIRCUITOS ===");
+            System.out.println("População inicial: " + tamanhoPopulacao);
+            System.out.println("Gerações: " + numeroGeracoes);
+            System.out.println("Taxa de mutação: " + taxaMutacao);
+            System.out.println("Taxa de cruzamento: " + taxaCruzamento);
+            System.out.println();
+        }
 
         CromossomoCircuito melhorSolucao = null;
 
         for (int geracao = 0; geracao < numeroGeracoes; geracao++) {
-            // Avalia fitness de toda a população
-            for (CromossomoCircuito individuo : populacao) {
-                individuo.calcularFitness();
+            // Aguarda o fitness de toda a população (já submetida durante a geração);
+            // se o cancelamento interrompeu a avaliação, a geração incompleta é descartada
+            avaliador.aguardar();
+            if (cancelado() && !isAvaliada(populacao)) {
+                break;
             }
 
             // Ordena população por fitness (descendente)
@@ -66,21 +127,36 @@ public class AlgoritmoGeneticoCircuito {
                 melhorSolucao = populacao.get(0).clone();
             }
 
+            if (ouvinteGeracao != null) {
+                ouvinteGeracao.accept(geracao, melhorSolucao);
+            }
+
             // Critério de parada: se encontrou solução ótima
             if (melhorSolucao.getFitness() > 0.95) {
-                System.out.println("Solução ótima encontrada na geração " + geracao);
+                if (verboso) {
+                    System.out.println("Solução ótima encontrada na geração " + geracao);
+                }
                 break;
             }
 
-            // Gera nova população
+            if (cancelado()) {
+                break;
+            }
+
+            // Gera nova população; se cancelada no meio, a população incompleta é descartada
             populacao = gerarNovaPopulacao(populacao);
+            if (cancelado()) {
+                break;
+            }
         }
 
-        System.out.println("\n=== MELHOR SOLUÇÃO ENCONTRADA ===");
-        System.out.println(melhorSolucao);
-        System.out.println("\nComponentes selecionados:");
-        for (Componente comp : melhorSolucao.getComponentesSelecionados()) {
-            System.out.println("  " + comp);
+        if (verboso && melhorSolucao != null) {
+            System.out.println("\n=== MELHOR SOLUÇÃO ENCONTRADA ===");
+            System.out.println(melhorSolucao);
+            System.out.println("\nComponentes selecionados:");
+            for (Componente comp : melhorSolucao.getComponentesSelecionados()) {
+                System.out.println("  " + comp);
+            }
         }
 
         return melhorSolucao;
@@ -91,7 +167,12 @@ public class AlgoritmoGeneticoCircuito {
         List<CromossomoCircuito> populacao = new ArrayList<>();
 
         for (int i = 0; i < tamanhoPopulacao; i++) {
-            CromossomoCircuito individuo = new CromossomoCircuito();
+            // Cancelamento: mantém ao menos um indivíduo para ter uma solução a devolver
+            if (i > 0 && cancelado()) {
+                break;
+            }
+
+            CromossomoCircuito individuo = new CromossomoCircuito(problema);
 
             // Adiciona componentes aleatórios respeitando algumas restrições básicas
             List<Componente> componentesShuffled = new ArrayList<>(componentesDisponiveis);
@@ -102,8 +183,8 @@ public class AlgoritmoGeneticoCircuito {
 
             for (Componente comp : componentesShuffled) {
                 // 70% de chance de adicionar um novo componente no circuito
-                if (custoAcumulado + comp.getCusto() <= CromossomoCircuito.ORCAMENTO_MAXIMO &&
-                        tamanhoAcumulado + comp.getTamanho() <= CromossomoCircuito.TAMANHO_MAXIMO_PLACA &&
+                if (custoAcumulado + comp.getCusto() <= problema.getOrcamentoMaximo() &&
+                        tamanhoAcumulado + comp.getTamanho() <= problema.getTamanhoMaximoPlaca() &&
                         random.nextDouble() < 0.7) { 
 
                     individuo.adicionarComponente(comp);
@@ -112,7 +193,7 @@ public class AlgoritmoGeneticoCircuito {
                 }
             }
 
-            populacao.add(individuo);
+            adicionarIndividuo(populacao, individuo);
         }
 
         return populacao;
@@ -125,11 +206,11 @@ public class AlgoritmoGeneticoCircuito {
         // Elitismo: mantém os 10% melhores
         int numElite = (int) (tamanhoPopulacao * taxaElitismo);
         for (int i = 0; i < numElite; i++) {
-            novaPopulacao.add(populacaoAtual.get(i).clone());
+            adicionarIndividuo(novaPopulacao, populacaoAtual.get(i).clone());
         }
 
         // Gera o restante da população
-        while (novaPopulacao.size() < tamanhoPopulacao) {
+        while (novaPopulacao.size() < tamanhoPopulacao && !cancelado()) {
             // Seleção por torneio
             CromossomoCircuito pai1 = selecaoTorneio(populacaoAtual, tamanhoTorneio);
             CromossomoCircuito pai2 = selecaoTorneio(populacaoAtual, tamanhoTorneio);
@@ -146,14 +227,14 @@ public class AlgoritmoGeneticoCircuito {
                     mutacao(filhos[1]);
                 }
 
-                novaPopulacao.add(filhos[0]);
+                adicionarIndividuo(novaPopulacao, filhos[0]);
                 if (novaPopulacao.size() < tamanhoPopulacao) {
-                    novaPopulacao.add(filhos[1]);
+                    adicionarIndividuo(novaPopulacao, filhos[1]);
                 }
             } else {
-                novaPopulacao.add(pai1.clone());
+                adicionarIndividuo(novaPopulacao, pai1.clone());
                 if (novaPopulacao.size() < tamanhoPopulacao) {
-                    novaPopulacao.add(pai2.clone());
+                    adicionarIndividuo(novaPopulacao, pai2.clone());
                 }
             }
         }
@@ -161,6 +242,22 @@ public class AlgoritmoGeneticoCircuito {
         return novaPopulacao;
     }
 
+    private static boolean isAvaliada(List<CromossomoCircuito> populacao) {
+        for (CromossomoCircuito individuo : populacao) {
+            if (!individuo.isFitnessCalculado()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Adiciona o indivíduo à população e já o envia para avaliação, sobrepondo
+    // a avaliação com a geração dos próximos candidatos
+    private void adicionarIndividuo(List<CromossomoCircuito> populacao, CromossomoCircuito individuo) {
+        populacao.add(individuo);
+        avaliador.submeter(individuo);
+    }
+
     // Seleção por torneio
     private CromossomoCircuito selecaoTorneio(List<CromossomoCircuito> populacao, int tamanhoTorneio) {
         CromossomoCircuito melhor = null;
@@ -184,8 +281,8 @@ public class AlgoritmoGeneticoCircuito {
         todosComponentes.addAll(componentesPai1);
         todosComponentes.addAll(componentesPai2);
 
-        CromossomoCircuito filho1 = new CromossomoCircuito();
-        CromossomoCircuito filho2 = new CromossomoCircuito();
+        CromossomoCircuito filho1 = new CromossomoCircuito(problema);
+        CromossomoCircuito filho2 = new CromossomoCircuito(problema);
 
         for (Componente comp : todosComponentes) {
             boolean estaNoPai1 = componentesPai1.contains(comp);
@@ -231,4 +328,15 @@ public class AlgoritmoGeneticoCircuito {
             }
         }
     }
+
+    // Cancelamento: a thread que executa o algoritmo foi interrompida
+    private static boolean cancelado() {
+        return Thread.currentThread().isInterrupted();
+    }
+
+    private static void validarTaxa(String nome, double taxa) {
+        if (!(taxa >= 0.0 && taxa <= 1.0)) {
+            throw new IllegalArgumentException("Taxa de " + nome + " deve estar entre 0 e 1: " + taxa);
+        }
+    }
 }
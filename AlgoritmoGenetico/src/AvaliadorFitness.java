@@ -0,0 +1,18 @@
+/**
+ * Estratégia de avaliação de fitness usada pelo algoritmo genético.
+ * Permite substituir o cálculo local por um avaliador externo (ex.: um
+ * simulador de circuitos executado como subprocesso)
+ */
+public interface AvaliadorFitness extends AutoCloseable {
+
+    // Agenda a avaliação do cromossomo; implementações síncronas avaliam na hora
+    void submeter(CromossomoCircuito cromossomo);
+
+    // Bloqueia até que todas as avaliações submetidas tenham terminado
+    void aguardar();
+
+    // Libera os recursos do avaliador (threads, subprocessos)
+    @Override
+    default void close() {
+    }
+}
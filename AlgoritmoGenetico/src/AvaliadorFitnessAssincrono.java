@@ -0,0 +1,145 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Avaliador assíncrono em lotes para funções de fitness caras (ex.: simulador
+ * de circuitos externo). Os cromossomos são agrupados em lotes e avaliados em
+ * segundo plano enquanto o algoritmo genético continua gerando os próximos
+ * candidatos. O número de avaliações em andamento é limitado: quando o limite
+ * é atingido, submeter() bloqueia até que um lote termine.
+ *
+ * As threads do avaliador só calculam os resultados; o fitness é gravado nos
+ * cromossomos pela thread do algoritmo genético, em aguardar(), depois que
+ * todos os lotes terminaram. Se a thread for interrompida (cancelamento), as
+ * esperas terminam, os resultados dos lotes em andamento são descartados e
+ * nenhum cromossomo da geração recebe fitness; a interrupção é preservada
+ * para o algoritmo genético parar sem usar a geração incompleta.
+ *
+ * submeter() e aguardar() devem ser chamados sempre pela mesma thread
+ */
+public class AvaliadorFitnessAssincrono implements AvaliadorFitness {
+    private final Function<List<CromossomoCircuito>, double[]> funcaoFitnessLote;
+    private final int tamanhoLote;
+    private final Semaphore vagas;
+    private final ExecutorService executor;
+    private final List<CromossomoCircuito> loteAtual;
+    private final List<LoteEmAvaliacao> pendentes;
+
+    /**
+     * @param funcaoFitnessLote        recebe um lote de cromossomos e devolve o
+     *                                 fitness de cada um, na mesma ordem
+     * @param maxAvaliacoesSimultaneas número máximo de cromossomos em avaliação
+     * @param tamanhoLote              cromossomos enviados por chamada à função
+     */
+    public AvaliadorFitnessAssincrono(Function<List<CromossomoCircuito>, double[]> funcaoFitnessLote,
+            int maxAvaliacoesSimultaneas,
+            int tamanhoLote) {
+        if (tamanhoLote < 1 || tamanhoLote > maxAvaliacoesSimultaneas) {
+            throw new IllegalArgumentException(
+                    "Tamanho do lote deve estar entre 1 e o máximo de avaliações simultâneas: " + tamanhoLote);
+        }
+        this.funcaoFitnessLote = funcaoFitnessLote;
+        this.tamanhoLote = tamanhoLote;
+        this.vagas = new Semaphore(maxAvaliacoesSimultaneas);
+        this.executor = Executors.newCachedThreadPool(tarefa -> {
+            Thread thread = new Thread(tarefa, "avaliador-fitness");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.loteAtual = new ArrayList<>();
+        this.pendentes = new ArrayList<>();
+    }
+
+    @Override
+    public void submeter(CromossomoCircuito cromossomo) {
+        // Cópias de indivíduos já avaliados não precisam passar pelo simulador
+        if (cromossomo.isFitnessCalculado()) {
+            return;
+        }
+
+        loteAtual.add(cromossomo);
+        if (loteAtual.size() >= tamanhoLote) {
+            despacharLote();
+        }
+    }
+
+    @Override
+    public void aguardar() {
+        despacharLote();
+
+        try {
+            CompletableFuture<?>[] futuros = new CompletableFuture<?>[pendentes.size()];
+            for (int i = 0; i < futuros.length; i++) {
+                futuros[i] = pendentes.get(i).futuro;
+            }
+            CompletableFuture.allOf(futuros).get();
+
+            for (LoteEmAvaliacao pendente : pendentes) {
+                pendente.aplicarResultados();
+            }
+        } catch (InterruptedException e) {
+            // Os lotes em andamento terminam em segundo plano, mas seus resultados são descartados
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha na avaliação de fitness", e.getCause());
+        } finally {
+            pendentes.clear();
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    // Envia o lote atual para avaliação, esperando por vagas se necessário
+    private void despacharLote() {
+        if (loteAtual.isEmpty()) {
+            return;
+        }
+
+        List<CromossomoCircuito> lote = new ArrayList<>(loteAtual);
+        loteAtual.clear();
+
+        try {
+            vagas.acquire(lote.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        CompletableFuture<double[]> futuro = CompletableFuture
+                .supplyAsync(() -> funcaoFitnessLote.apply(lote), executor)
+                .whenComplete((resultado, erro) -> vagas.release(lote.size()));
+
+        pendentes.add(new LoteEmAvaliacao(lote, futuro));
+    }
+
+    // Lote despachado e o cálculo em andamento do seu fitness
+    private static class LoteEmAvaliacao {
+        private final List<CromossomoCircuito> lote;
+        private final CompletableFuture<double[]> futuro;
+
+        LoteEmAvaliacao(List<CromossomoCircuito> lote, CompletableFuture<double[]> futuro) {
+            this.lote = lote;
+            this.futuro = futuro;
+        }
+
+        // Chamado pela thread do algoritmo genético, com o futuro já concluído
+        void aplicarResultados() {
+            double[] resultados = futuro.join();
+            if (resultados == null || resultados.length != lote.size()) {
+                throw new IllegalStateException("A avaliação devolveu " + (resultados == null ? 0 : resultados.length)
+                        + " valores de fitness para um lote de " + lote.size());
+            }
+            for (int i = 0; i < lote.size(); i++) {
+                lote.get(i).setFitness(resultados[i]);
+            }
+        }
+    }
+}
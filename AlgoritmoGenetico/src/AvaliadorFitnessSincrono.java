@@ -0,0 +1,16 @@
+/**
+ * Avaliador padrão: calcula o fitness localmente, na própria thread do
+ * algoritmo genético, no momento em que o cromossomo é submetido
+ */
+public class AvaliadorFitnessSincrono implements AvaliadorFitness {
+
+    @Override
+    public void submeter(CromossomoCircuito cromossomo) {
+        cromossomo.calcularFitness();
+    }
+
+    @Override
+    public void aguardar() {
+        // Nada a aguardar: toda avaliação já terminou em submeter()
+    }
+}
@@ -0,0 +1,156 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Avaliador que guarda o catálogo em colunas (custo, tamanho, eficiência) e
+ * pontua os cromossomos submetidos em lotes, em aguardar(). Cada lote vira
+ * uma matriz de máscaras sobre o catálogo e as somas de todos os cromossomos
+ * do lote são feitas em uma única passada pelo KernelSomasMascaradas,
+ * vetorizado quando a Vector API está disponível. Cromossomos de outro
+ * problema ou com componentes fora do catálogo ou repetidos usam o cálculo
+ * normal do cromossomo
+ */
+public class AvaliadorFitnessVetorial implements AvaliadorFitness {
+    // Cromossomos por passada: cada gene ocupa uma linha de cache da matriz de máscaras
+    private static final int TAMANHO_LOTE = 64;
+
+    private final ProblemaCircuito problema;
+    private final KernelSomasMascaradas kernel;
+    private final double[] custos;
+    private final double[] tamanhos;
+    private final double[] eficiencias;
+    private final Map<Componente, Integer> indicePorComponente;
+    private final int[] indicePorId;
+    private final int menorId;
+    private final boolean[] mascaras;
+    private final boolean[] mascaraValida;
+    private final double[] somas;
+    private final List<CromossomoCircuito> pendentes;
+
+    public AvaliadorFitnessVetorial(ProblemaCircuito problema) {
+        this(problema, KernelSomasMascaradas.criar());
+    }
+
+    public AvaliadorFitnessVetorial(ProblemaCircuito problema, KernelSomasMascaradas kernel) {
+        this.problema = problema;
+        this.kernel = kernel;
+
+        List<Componente> catalogo = problema.getCatalogo();
+        this.custos = new double[catalogo.size()];
+        this.tamanhos = new double[catalogo.size()];
+        this.eficiencias = new double[catalogo.size()];
+        this.indicePorComponente = new HashMap<>();
+        for (int i = 0; i < catalogo.size(); i++) {
+            Componente comp = catalogo.get(i);
+            custos[i] = comp.getCusto();
+            tamanhos[i] = comp.getTamanho();
+            eficiencias[i] = comp.getEficienciaEnergetica();
+            indicePorComponente.put(comp, i);
+        }
+
+        // Com ids próximos (o caso comum), o índice sai de um array em vez do HashMap
+        int menor = catalogo.stream().mapToInt(Componente::getId).min().orElse(0);
+        int maior = catalogo.stream().mapToInt(Componente::getId).max().orElse(-1);
+        if ((long) maior - menor < 4L * catalogo.size() + 1024) {
+            this.menorId = menor;
+            this.indicePorId = new int[maior - menor + 1];
+            Arrays.fill(indicePorId, -1);
+            for (int i = 0; i < catalogo.size(); i++) {
+                indicePorId[catalogo.get(i).getId() - menor] = i;
+            }
+        } else {
+            this.menorId = 0;
+            this.indicePorId = null;
+        }
+
+        this.mascaras = new boolean[catalogo.size() * TAMANHO_LOTE];
+        this.mascaraValida = new boolean[TAMANHO_LOTE];
+        this.somas = new double[4 * TAMANHO_LOTE];
+        this.pendentes = new ArrayList<>();
+    }
+
+    @Override
+    public void submeter(CromossomoCircuito cromossomo) {
+        if (!cromossomo.isFitnessCalculado()) {
+            pendentes.add(cromossomo);
+        }
+    }
+
+    @Override
+    public void aguardar() {
+        double[] fitness = avaliar(pendentes);
+        for (int i = 0; i < pendentes.size(); i++) {
+            pendentes.get(i).setFitness(fitness[i]);
+        }
+        pendentes.clear();
+    }
+
+    // Calcula o fitness de cada cromossomo pelas somas mascaradas, sem alterar os cromossomos
+    public double[] avaliar(List<CromossomoCircuito> cromossomos) {
+        double[] fitness = new double[cromossomos.size()];
+        for (int inicio = 0; inicio < cromossomos.size(); inicio += TAMANHO_LOTE) {
+            avaliarLote(cromossomos, inicio, Math.min(TAMANHO_LOTE, cromossomos.size() - inicio), fitness);
+        }
+        return fitness;
+    }
+
+    public KernelSomasMascaradas getKernel() {
+        return kernel;
+    }
+
+    private void avaliarLote(List<CromossomoCircuito> cromossomos, int inicio, int quantidade, double[] fitness) {
+        Arrays.fill(mascaras, 0, custos.length * quantidade, false);
+        for (int c = 0; c < quantidade; c++) {
+            mascaraValida[c] = preencherMascara(cromossomos.get(inicio + c), c, quantidade);
+        }
+
+        kernel.somarLote(custos, tamanhos, eficiencias, mascaras, quantidade, somas);
+
+        for (int c = 0; c < quantidade; c++) {
+            CromossomoCircuito cromossomo = cromossomos.get(inicio + c);
+            if (!mascaraValida[c]) {
+                fitness[inicio + c] = cromossomo.getProblema().calcularFitness(cromossomo.getNumeroComponentes(),
+                        cromossomo.calcularCustoTotal(), cromossomo.calcularEficienciaMedia(),
+                        cromossomo.calcularTamanhoTotal());
+                continue;
+            }
+
+            int numeroComponentes = (int) somas[3 * quantidade + c];
+            double eficienciaMedia = numeroComponentes > 0 ? somas[2 * quantidade + c] / numeroComponentes : 0;
+            fitness[inicio + c] = problema.calcularFitness(numeroComponentes, somas[c], eficienciaMedia,
+                    somas[quantidade + c]);
+        }
+    }
+
+    /**
+     * Marca na coluna do cromossomo as posições do catálogo que ele seleciona.
+     * Devolve false se ele não pode ser avaliado pelas colunas; as colunas são
+     * independentes, então uma máscara incompleta não afeta os outros
+     */
+    private boolean preencherMascara(CromossomoCircuito cromossomo, int coluna, int quantidade) {
+        if (cromossomo.getProblema() != problema) {
+            return false;
+        }
+
+        for (int i = 0; i < cromossomo.getNumeroComponentes(); i++) {
+            int indice = indiceNoCatalogo(cromossomo.getComponente(i));
+            if (indice < 0 || mascaras[indice * quantidade + coluna]) {
+                return false;
+            }
+            mascaras[indice * quantidade + coluna] = true;
+        }
+        return true;
+    }
+
+    // Posição do componente no catálogo (comparando por id, como Componente.equals) ou -1
+    private int indiceNoCatalogo(Componente comp) {
+        if (indicePorId == null) {
+            return indicePorComponente.getOrDefault(comp, -1);
+        }
+        int posicao = comp.getId() - menorId;
+        return posicao >= 0 && posicao < indicePorId.length ? indicePorId[posicao] : -1;
+    }
+}
@@ -0,0 +1,98 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Microbenchmark da avaliação de fitness de uma população inteira: compara o
+ * cálculo atual do cromossomo (streams sobre a lista de componentes) com as
+ * somas mascaradas em colunas, escalar e vetorial.
+ *
+ * Uso: java --add-modules jdk.incubator.vector BenchmarkAvaliacao [componentes] [populacao]
+ * (sem --add-modules ou sem compilar src-vetorial, apenas o kernel escalar é medido)
+ */
+public class BenchmarkAvaliacao {
+    private static final int RODADAS_AQUECIMENTO = 200;
+    private static final int RODADAS_MEDICAO = 500;
+
+    public static void main(String[] args) {
+        int componentesAleatorios = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int tamanhoPopulacao = args.length > 1 ? Integer.parseInt(args[1]) : 300;
+
+        List<Componente> catalogo = GeradorComponentes.gerarComponentesExemplo();
+        catalogo.addAll(GeradorComponentes.gerarComponentesAleatorios(componentesAleatorios));
+        ProblemaCircuito problema = ProblemaCircuito.padrao(catalogo);
+        List<CromossomoCircuito> populacao = gerarPopulacao(problema, tamanhoPopulacao, new Random(42));
+
+        System.out.printf("Catálogo: %d componentes, população: %d cromossomos%n",
+                catalogo.size(), tamanhoPopulacao);
+
+        double referencia = medir("streams (atual)", populacao, BenchmarkAvaliacao::avaliarComStreams, 0);
+
+        AvaliadorFitnessVetorial escalar = new AvaliadorFitnessVetorial(problema, new KernelSomasEscalar());
+        medir("colunas " + escalar.getKernel().getNome(), populacao, p -> somar(escalar.avaliar(p)), referencia);
+
+        KernelSomasMascaradas kernel = KernelSomasMascaradas.criar();
+        if (kernel instanceof KernelSomasEscalar) {
+            System.out.println("Vector API indisponível: compile src-vetorial e execute com "
+                    + "--add-modules jdk.incubator.vector");
+            return;
+        }
+        AvaliadorFitnessVetorial vetorial = new AvaliadorFitnessVetorial(problema, kernel);
+        medir("colunas " + kernel.getNome(), populacao, p -> somar(vetorial.avaliar(p)), referencia);
+    }
+
+    // Mede o tempo médio por cromossomo avaliando a população inteira; referencia > 0 exibe o ganho relativo
+    private static double medir(String nome, List<CromossomoCircuito> populacao,
+            ToDoubleFunction<List<CromossomoCircuito>> avaliacao, double referencia) {
+        double acumulado = 0;
+        for (int r = 0; r < RODADAS_AQUECIMENTO; r++) {
+            acumulado += avaliacao.applyAsDouble(populacao);
+        }
+
+        long inicio = System.nanoTime();
+        for (int r = 0; r < RODADAS_MEDICAO; r++) {
+            acumulado += avaliacao.applyAsDouble(populacao);
+        }
+        double nsPorCromossomo = (double) (System.nanoTime() - inicio) / RODADAS_MEDICAO / populacao.size();
+
+        // 'acumulado' impede que o JIT descarte as avaliações
+        System.out.printf("%-28s %8.1f ns/cromossomo%s  [checksum %.3f]%n", nome, nsPorCromossomo,
+                referencia > 0 ? String.format("  (%.2fx)", referencia / nsPorCromossomo) : "",
+                acumulado / (RODADAS_AQUECIMENTO + RODADAS_MEDICAO));
+        return nsPorCromossomo;
+    }
+
+    // Cálculo atual: cada cromossomo soma seus componentes com streams
+    private static double avaliarComStreams(List<CromossomoCircuito> populacao) {
+        double soma = 0;
+        for (CromossomoCircuito c : populacao) {
+            soma += c.getProblema().calcularFitness(c.getNumeroComponentes(), c.calcularCustoTotal(),
+                    c.calcularEficienciaMedia(), c.calcularTamanhoTotal());
+        }
+        return soma;
+    }
+
+    private static double somar(double[] valores) {
+        double soma = 0;
+        for (double valor : valores) {
+            soma += valor;
+        }
+        return soma;
+    }
+
+    // Cromossomos com metade dos componentes do catálogo, em média
+    private static List<CromossomoCircuito> gerarPopulacao(ProblemaCircuito problema, int tamanho, Random random) {
+        List<CromossomoCircuito> populacao = new ArrayList<>();
+        for (int i = 0; i < tamanho; i++) {
+            CromossomoCircuito individuo = new CromossomoCircuito(problema);
+            for (Componente comp : problema.getCatalogo()) {
+                if (random.nextBoolean()) {
+                    individuo.adicionarComponente(comp);
+                }
+            }
+            populacao.add(individuo);
+        }
+        return populacao;
+    }
+}
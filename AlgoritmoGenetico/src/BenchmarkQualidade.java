@@ -0,0 +1,156 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Modo benchmark: compara a evolução do algoritmo genético com a melhor
+ * solução e o limite superior obtidos pelo branch-and-bound, mostrando a
+ * qualidade alcançada em função do tempo de CPU gasto. Os dois métodos são
+ * medidos pelo mesmo relógio: o tempo de CPU do processo, que inclui as
+ * threads do avaliador assíncrono. A série completa é gravada em CSV para
+ * gerar gráficos externos; um gráfico resumido é exibido no console.
+ * Sem solução viável conhecida nem limite superior positivo, as razões
+ * ficam indisponíveis (vazias no CSV) e o gráfico não é exibido
+ */
+public class BenchmarkQualidade {
+    private static final int LARGURA_GRAFICO = 50;
+    private static final int LINHAS_GRAFICO = 20;
+
+    public static void executar(AlgoritmoGeneticoCircuito ag, ProblemaCircuito problema,
+            double limiteTempoSegundos, String arquivoCsv) {
+        System.out.println("\n" + "=".repeat(70));
+        System.out.println("                    BENCHMARK DE QUALIDADE");
+        System.out.println("=".repeat(70));
+
+        com.sun.management.OperatingSystemMXBean sistema = relogioCpuProcesso();
+        String relogio = sistema != null ? "CPU do processo" : "tempo real";
+
+        // Referência: branch-and-bound com limite de tempo
+        System.out.printf("Executando branch-and-bound (limite de %.1fs)...%n", limiteTempoSegundos);
+        long inicioCpuBnb = tempoAtual(sistema);
+        ResultadoBranchAndBound referencia = new SolucionadorBranchAndBound(problema, limiteTempoSegundos)
+                .resolver(null);
+        double tempoBnb = (tempoAtual(sistema) - inicioCpuBnb) / 1e9;
+        System.out.println(referencia);
+
+        // Algoritmo genético: registra a melhor solução a cada geração
+        long inicioCpu = tempoAtual(sistema);
+        long inicioReal = System.nanoTime();
+        List<double[]> amostras = new ArrayList<>();
+
+        ag.setOuvinteGeracao((geracao, melhor) -> {
+            double cpu = (tempoAtual(sistema) - inicioCpu) / 1e9;
+            double real = (System.nanoTime() - inicioReal) / 1e9;
+            amostras.add(new double[] { geracao, cpu, real, melhor.getFitness() });
+        });
+        CromossomoCircuito resultadoAg = ag.executar();
+        ag.setOuvinteGeracao(null);
+
+        // Sem solução do branch-and-bound, a referência do gráfico passa a ser o limite superior
+        double limite = referencia.getLimiteSuperior();
+        double melhorBnb = referencia.getMelhorSolucao() != null ? referencia.getMelhorFitness() : limite;
+        if (isReferenciaValida(melhorBnb)) {
+            exibirGrafico(amostras, melhorBnb, limite, relogio);
+        } else {
+            System.out.println("\nNenhuma solução viável conhecida: gráfico relativo ao B&B indisponível");
+        }
+        gravarCsv(amostras, melhorBnb, limite, arquivoCsv);
+
+        double[] ultima = amostras.get(amostras.size() - 1);
+        System.out.println("\nRESUMO:");
+        System.out.printf("• AG: fitness %.4f em %.2fs de %s (%s do B&B, %s do limite superior)%n",
+                resultadoAg.getFitness(), ultima[1], relogio,
+                formatarPercentual(razao(resultadoAg.getFitness(), melhorBnb)),
+                formatarPercentual(razao(resultadoAg.getFitness(), limite)));
+        if (referencia.getMelhorSolucao() != null) {
+            System.out.printf("• Branch-and-bound: fitness %.4f em %.2fs de %s (%s)%n",
+                    referencia.getMelhorFitness(), tempoBnb, relogio,
+                    referencia.isOtimoProvado() ? "ótimo provado" : "limite de tempo atingido");
+        } else {
+            System.out.printf("• Branch-and-bound: nenhuma solução viável em %.2fs de %s (%s)%n", tempoBnb, relogio,
+                    referencia.isOtimoProvado() ? "provado que não existe" : "limite de tempo atingido");
+        }
+        if (isReferenciaValida(limite)) {
+            System.out.printf("• Limite superior do ótimo: %.4f%n", limite);
+        }
+        if (sistema == null) {
+            System.out.println("• Tempo de CPU do processo indisponível nesta JVM: usando tempo real");
+        }
+    }
+
+    // Tempo de CPU de todas as threads do processo, quando a JVM o informa
+    private static com.sun.management.OperatingSystemMXBean relogioCpuProcesso() {
+        OperatingSystemMXBean sistema = ManagementFactory.getOperatingSystemMXBean();
+        if (sistema instanceof com.sun.management.OperatingSystemMXBean) {
+            com.sun.management.OperatingSystemMXBean sistemaSun = (com.sun.management.OperatingSystemMXBean) sistema;
+            if (sistemaSun.getProcessCpuTime() >= 0) {
+                return sistemaSun;
+            }
+        }
+        return null;
+    }
+
+    private static long tempoAtual(com.sun.management.OperatingSystemMXBean sistema) {
+        return sistema != null ? sistema.getProcessCpuTime() : System.nanoTime();
+    }
+
+    // Gráfico em texto: fitness do AG relativo à melhor solução do branch-and-bound ao longo do tempo
+    private static void exibirGrafico(List<double[]> amostras, double melhorBnb, double limite, String relogio) {
+        System.out.println("\nFITNESS DO AG / MELHOR SOLUÇÃO DO B&B x TEMPO (" + relogio.toUpperCase() + "):");
+
+        int passo = Math.max(1, amostras.size() / LINHAS_GRAFICO);
+        for (int i = 0; i < amostras.size(); i += passo) {
+            imprimirLinhaGrafico(amostras.get(i), melhorBnb, limite);
+        }
+        if ((amostras.size() - 1) % passo != 0) {
+            imprimirLinhaGrafico(amostras.get(amostras.size() - 1), melhorBnb, limite);
+        }
+    }
+
+    private static void imprimirLinhaGrafico(double[] amostra, double melhorBnb, double limite) {
+        double razao = Math.max(0.0, amostra[3] / melhorBnb);
+        int barra = (int) Math.round(Math.min(1.0, razao) * LARGURA_GRAFICO);
+        System.out.printf("%8.3fs |%-" + LARGURA_GRAFICO + "s| %5.1f%% B&B, %6s limite (geração %d)%n",
+                amostra[1], "#".repeat(barra), razao * 100,
+                formatarPercentual(Math.max(0.0, razao(amostra[3], limite))), (int) amostra[0]);
+    }
+
+    // Fitness viável é sempre positivo: referências não positivas ou infinitas não servem de base
+    private static boolean isReferenciaValida(double referencia) {
+        return referencia > 0 && !Double.isInfinite(referencia);
+    }
+
+    // Razão entre o valor e a referência, ou NaN se a referência não é válida
+    private static double razao(double valor, double referencia) {
+        return isReferenciaValida(referencia) ? valor / referencia : Double.NaN;
+    }
+
+    private static String formatarPercentual(double razao) {
+        return Double.isNaN(razao) ? "n/d" : String.format("%.1f%%", razao * 100);
+    }
+
+    // Valores indisponíveis ficam vazios no CSV
+    private static String formatarCsv(double valor) {
+        return Double.isNaN(valor) || Double.isInfinite(valor) ? "" : String.format(Locale.ROOT, "%.6f", valor);
+    }
+
+    private static void gravarCsv(List<double[]> amostras, double melhorBnb, double limite, String arquivoCsv) {
+        try (PrintWriter saida = new PrintWriter(arquivoCsv)) {
+            saida.println("geracao;tempo_cpu_s;tempo_real_s;fitness_ag;fitness_bnb;limite_superior;"
+                    + "razao_bnb;razao_limite");
+            for (double[] amostra : amostras) {
+                saida.println(String.format(Locale.ROOT, "%d;%.6f;%.6f;%.6f;%s;%s;%s;%s",
+                        (int) amostra[0], amostra[1], amostra[2], amostra[3], formatarCsv(melhorBnb),
+                        formatarCsv(limite), formatarCsv(razao(amostra[3], melhorBnb)),
+                        formatarCsv(razao(amostra[3], limite))));
+            }
+            System.out.println("\nSérie completa gravada em " + arquivoCsv);
+        } catch (IOException e) {
+            System.out.println("Erro ao gravar " + arquivoCsv + ": " + e.getMessage());
+        }
+    }
+}
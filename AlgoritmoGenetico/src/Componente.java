@@ -2,11 +2,11 @@
  * Classe que representa um componente eletrônico do circuito
  */
 public class Componente {
-    private String tipo;
-    private double custo;
-    private double eficienciaEnergetica;
-    private double tamanho;
-    private int id;
+    private final String tipo;
+    private final double custo;
+    private final double eficienciaEnergetica;
+    private final double tamanho;
+    private final int id;
 
     public Componente(int id, String tipo, double custo, double eficienciaEnergetica, double tamanho) {
         this.id = id;
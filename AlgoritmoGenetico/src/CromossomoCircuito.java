@@ -6,22 +6,20 @@ import java.util.List;
  * Cada cromossomo contém um conjunto de componentes que formam o circuito
  */
 public class CromossomoCircuito {
+    private final ProblemaCircuito problema;
     private List<Componente> componentesSelecionados;
     private double fitness;
     private boolean fitnessCalculado;
 
-    // Restrições do problema
-    public static double ORCAMENTO_MAXIMO = 1000.0;
-    public static double TAMANHO_MAXIMO_PLACA = 100.0;
-    public static double EFICIENCIA_MINIMA = 0.6;
-
-    public CromossomoCircuito() {
+    public CromossomoCircuito(ProblemaCircuito problema) {
+        this.problema = problema;
         this.componentesSelecionados = new ArrayList<>();
         this.fitness = 0.0;
         this.fitnessCalculado = false;
     }
 
-    public CromossomoCircuito(List<Componente> componentes) {
+    public CromossomoCircuito(ProblemaCircuito problema, List<Componente> componentes) {
+        this.problema = problema;
         this.componentesSelecionados = new ArrayList<>(componentes);
         this.fitness = 0.0;
         this.fitnessCalculado = false;
@@ -38,57 +36,8 @@ public class CromossomoCircuito {
             return fitness;
         }
 
-        double custoTotal = calcularCustoTotal();
-        double eficienciaMedia = calcularEficienciaMedia();
-        double tamanhoTotal = calcularTamanhoTotal();
-        int numeroComponentes = getNumeroComponentes();
-
-        // Penalidades para violações de restrições
-        double penalidade = 0;
-
-        if (custoTotal > ORCAMENTO_MAXIMO) {
-            penalidade += (custoTotal - ORCAMENTO_MAXIMO) / ORCAMENTO_MAXIMO * 2000;
-        }
-
-        if (tamanhoTotal > TAMANHO_MAXIMO_PLACA) {
-            penalidade += (tamanhoTotal - TAMANHO_MAXIMO_PLACA) / TAMANHO_MAXIMO_PLACA * 2000;
-        }
-
-        if (eficienciaMedia < EFICIENCIA_MINIMA) {
-            penalidade += (EFICIENCIA_MINIMA - eficienciaMedia) * 1000;
-        }
-
-        if (penalidade > 0) {
-            fitness = -penalidade;
-            fitnessCalculado = true;
-            return fitness;
-        }
-
-        double fatorNumeroComponentes = (double) numeroComponentes / 50.0;
-        double fatorEficiencia = eficienciaMedia;
-        double fatorAproveitamentoOrcamento = custoTotal / ORCAMENTO_MAXIMO;
-        double fatorAproveitamentoEspaco = tamanhoTotal / TAMANHO_MAXIMO_PLACA;
-
-        // Bônus para densidade de componentes (componentes por unidade de espaço)
-        double densidadeComponentes = numeroComponentes / Math.max(tamanhoTotal, 1.0);
-        double bonusDensidade = Math.min(densidadeComponentes / 5.0, 0.2);
-
-        // Bônus para a relação eficiência/custo
-        double eficienciaPorCusto = numeroComponentes > 0 ? (eficienciaMedia * numeroComponentes) / custoTotal : 0;
-        double bonusEficienciaCusto = Math.min(eficienciaPorCusto, 0.15);
-
-        // Fitness ponderado - prioriza número de componentes e eficiência
-        fitness = ((fatorNumeroComponentes * 0.35) +
-                (fatorEficiencia * 0.30) +
-                (fatorAproveitamentoOrcamento * 0.15) +
-                (fatorAproveitamentoEspaco * 0.10) +
-                bonusDensidade +
-                bonusEficienciaCusto);
-
-        if (numeroComponentes >= 20 && eficienciaMedia >= 0.8) {
-            fitness += 0.2; // +20% de bônus para soluções densas e eficientes
-        }
-
+        fitness = problema.calcularFitness(getNumeroComponentes(), calcularCustoTotal(),
+                calcularEficienciaMedia(), calcularTamanhoTotal());
         fitnessCalculado = true;
         return fitness;
     }
@@ -119,9 +68,11 @@ public class CromossomoCircuito {
 
     // Verifica se a solução é viável de acordo com as restrições do problema (orçamento, tamanho da placa e eficiência mínima)
     public boolean isViavel() {
-        return calcularCustoTotal() <= ORCAMENTO_MAXIMO &&
-                calcularTamanhoTotal() <= TAMANHO_MAXIMO_PLACA &&
-                calcularEficienciaMedia() >= EFICIENCIA_MINIMA;
+        return problema.isViavel(calcularCustoTotal(), calcularTamanhoTotal(), calcularEficienciaMedia());
+    }
+
+    public ProblemaCircuito getProblema() {
+        return problema;
     }
 
     public List<Componente> getComponentesSelecionados() {
@@ -141,6 +92,16 @@ public class CromossomoCircuito {
         return fitness;
     }
 
+    // Define o fitness calculado por um avaliador externo
+    public void setFitness(double fitness) {
+        this.fitness = fitness;
+        this.fitnessCalculado = true;
+    }
+
+    public boolean isFitnessCalculado() {
+        return fitnessCalculado;
+    }
+
     public void adicionarComponente(Componente componente) {
         componentesSelecionados.add(componente);
         fitnessCalculado = false;
@@ -155,6 +116,11 @@ public class CromossomoCircuito {
         return componentesSelecionados.size();
     }
 
+    // Acesso a um componente sem copiar a lista, para avaliações em laço
+    public Componente getComponente(int indice) {
+        return componentesSelecionados.get(indice);
+    }
+
     @Override
     public String toString() {
         return String.format(
@@ -167,9 +133,12 @@ public class CromossomoCircuito {
                 isViavel());
     }
 
-    // Cria uma cópia profunda do cromossomo
+    // Cria uma cópia profunda do cromossomo, reaproveitando o fitness já calculado
     @Override
     public CromossomoCircuito clone() {
-        return new CromossomoCircuito(this.componentesSelecionados);
+        CromossomoCircuito copia = new CromossomoCircuito(problema, this.componentesSelecionados);
+        copia.fitness = this.fitness;
+        copia.fitnessCalculado = this.fitnessCalculado;
+        return copia;
     }
 }
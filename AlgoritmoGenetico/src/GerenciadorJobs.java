@@ -0,0 +1,336 @@
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Agenda os jobs de otimização em um conjunto fixo de workers. Cada cliente
+ * tem sua própria fila e os workers atendem os clientes em rodízio, de modo
+ * que um cliente com muitos jobs não bloqueia os demais. Jobs idênticos
+ * (mesmo catálogo, restrições e parâmetros) são servidos pelo cache de
+ * resultados, inclusive enquanto o primeiro ainda executa. O cache não dá a
+ * outro cliente o controle do job: cada submissão recebe sua própria
+ * assinatura, e o job só é cancelado quando a última assinatura é cancelada
+ */
+public class GerenciadorJobs {
+    /**
+     * Resultado de um pedido de cancelamento
+     */
+    public enum Cancelamento {
+        NAO_ENCONTRADO, ASSINATURA_INVALIDA, JA_FINALIZADO, ASSINATURA_REMOVIDA, CANCELADO
+    }
+
+    private final int tamanhoMaximoFila;
+    private final int maximoJobsRetidos;
+    private final List<Thread> workers;
+    private final AtomicLong sequencia;
+    private final SecureRandom geradorAssinaturas;
+
+    // Estado protegido pelo monitor deste objeto
+    private final Map<String, Deque<JobOtimizacao>> filasPorCliente;
+    private final Deque<String> rodizioClientes;
+    private final LinkedHashMap<String, JobOtimizacao> jobsPorId;
+    private final Map<String, JobOtimizacao> jobsPorChave;
+    private int jobsNaFila;
+    private int jobsExecutando;
+    private boolean encerrado;
+
+    /**
+     * @param numeroWorkers     jobs executados ao mesmo tempo
+     * @param tamanhoMaximoFila jobs aguardando, somando todos os clientes
+     * @param maximoJobsRetidos jobs finalizados mantidos para consulta e cache
+     */
+    public GerenciadorJobs(int numeroWorkers, int tamanhoMaximoFila, int maximoJobsRetidos) {
+        this.tamanhoMaximoFila = tamanhoMaximoFila;
+        this.maximoJobsRetidos = maximoJobsRetidos;
+        this.workers = new ArrayList<>();
+        this.sequencia = new AtomicLong();
+        this.geradorAssinaturas = new SecureRandom();
+        this.filasPorCliente = new HashMap<>();
+        this.rodizioClientes = new ArrayDeque<>();
+        this.jobsPorId = new LinkedHashMap<>();
+        this.jobsPorChave = new HashMap<>();
+
+        for (int i = 0; i < numeroWorkers; i++) {
+            Thread worker = new Thread(this::executarWorker, "worker-otimizacao-" + (i + 1));
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * Submete um job; se já existe um job idêntico reaproveitável, ele é
+     * devolvido no lugar de um novo. Em ambos os casos a submissão recebe uma
+     * nova assinatura do job.
+     *
+     * @throws IllegalStateException se a fila estiver cheia ou o gerenciador encerrado
+     */
+    public synchronized Submissao submeter(String cliente, ProblemaCircuito problema, Properties configuracao) {
+        if (encerrado) {
+            throw new IllegalStateException("Gerenciador de jobs encerrado");
+        }
+
+        String chave = calcularChave(problema, configuracao);
+        JobOtimizacao existente = jobsPorChave.get(chave);
+        if (existente != null && existente.isReaproveitavel()) {
+            return new Submissao(existente, true, assinar(existente));
+        }
+
+        if (jobsNaFila >= tamanhoMaximoFila) {
+            throw new IllegalStateException("Fila de jobs cheia");
+        }
+
+        String id = "job-" + sequencia.incrementAndGet();
+        JobOtimizacao job = new JobOtimizacao(id, cliente, chave, problema, configuracao);
+
+        Deque<JobOtimizacao> fila = filasPorCliente.computeIfAbsent(cliente, c -> new ArrayDeque<>());
+        if (fila.isEmpty()) {
+            rodizioClientes.addLast(cliente);
+        }
+        fila.addLast(job);
+        jobsNaFila++;
+
+        jobsPorId.put(id, job);
+        jobsPorChave.put(chave, job);
+        descartarJobsAntigos();
+
+        notifyAll();
+        return new Submissao(job, false, assinar(job));
+    }
+
+    // Cria uma assinatura de 128 bits imprevisível para o job
+    private String assinar(JobOtimizacao job) {
+        byte[] bytes = new byte[16];
+        geradorAssinaturas.nextBytes(bytes);
+        String assinatura = hexadecimal(bytes);
+        job.adicionarAssinatura(assinatura);
+        return assinatura;
+    }
+
+    public synchronized JobOtimizacao buscar(String id) {
+        return jobsPorId.get(id);
+    }
+
+    /**
+     * Cancela a assinatura recebida na submissão; o job só é cancelado (e
+     * retirado da fila, se ainda não começou) quando não restam outras
+     */
+    public synchronized Cancelamento cancelar(String id, String assinatura) {
+        JobOtimizacao job = jobsPorId.get(id);
+        if (job == null) {
+            return Cancelamento.NAO_ENCONTRADO;
+        }
+        if (!job.possuiAssinatura(assinatura)) {
+            return Cancelamento.ASSINATURA_INVALIDA;
+        }
+        if (job.isFinalizado()) {
+            return Cancelamento.JA_FINALIZADO;
+        }
+        if (job.removerAssinatura(assinatura) > 0) {
+            return Cancelamento.ASSINATURA_REMOVIDA;
+        }
+        return cancelarJob(job) ? Cancelamento.CANCELADO : Cancelamento.JA_FINALIZADO;
+    }
+
+    // Cancela o job para todos os assinantes, retirando-o da fila se ainda não começou
+    private synchronized boolean cancelarJob(JobOtimizacao job) {
+        if (!job.cancelar()) {
+            return false;
+        }
+
+        Deque<JobOtimizacao> fila = filasPorCliente.get(job.getCliente());
+        if (fila != null && fila.remove(job)) {
+            jobsNaFila--;
+            if (fila.isEmpty()) {
+                filasPorCliente.remove(job.getCliente());
+                rodizioClientes.remove(job.getCliente());
+            }
+        }
+        return true;
+    }
+
+    public synchronized Map<String, Object> estatisticas() {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("workers", workers.size());
+        json.put("na_fila", jobsNaFila);
+        json.put("executando", jobsExecutando);
+        json.put("clientes_aguardando", rodizioClientes.size());
+        json.put("jobs_retidos", jobsPorId.size());
+        return json;
+    }
+
+    // Para de aceitar jobs e cancela os que estão na fila ou em execução
+    public void encerrar() {
+        List<JobOtimizacao> ativos = new ArrayList<>();
+        synchronized (this) {
+            encerrado = true;
+            for (JobOtimizacao job : jobsPorId.values()) {
+                if (!job.isFinalizado()) {
+                    ativos.add(job);
+                }
+            }
+            notifyAll();
+        }
+
+        for (JobOtimizacao job : ativos) {
+            cancelarJob(job);
+        }
+    }
+
+    private void executarWorker() {
+        while (true) {
+            JobOtimizacao job;
+            try {
+                job = proximoJob();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (job == null) {
+                return;
+            }
+
+            try {
+                executarJob(job);
+            } finally {
+                synchronized (this) {
+                    jobsExecutando--;
+                }
+            }
+            // Descarta uma interrupção de cancelamento que chegou após o fim do job
+            Thread.interrupted();
+        }
+    }
+
+    // Próximo job em rodízio entre os clientes; null quando encerrado
+    private synchronized JobOtimizacao proximoJob() throws InterruptedException {
+        while (true) {
+            if (encerrado) {
+                return null;
+            }
+
+            String cliente = rodizioClientes.pollFirst();
+            if (cliente == null) {
+                wait();
+                continue;
+            }
+
+            Deque<JobOtimizacao> fila = filasPorCliente.get(cliente);
+            JobOtimizacao job = fila.pollFirst();
+            jobsNaFila--;
+            if (fila.isEmpty()) {
+                filasPorCliente.remove(cliente);
+            } else {
+                rodizioClientes.addLast(cliente);
+            }
+
+            if (job.iniciar(Thread.currentThread())) {
+                jobsExecutando++;
+                return job;
+            }
+        }
+    }
+
+    private void executarJob(JobOtimizacao job) {
+        try {
+            AlgoritmoGeneticoCircuito ag = AlgoritmoGeneticoCircuito.aPartirDeConfiguracao(
+                    job.getProblema(), job.getConfiguracao(), new AvaliadorFitnessSincrono());
+            ag.setVerboso(false);
+            ag.setOuvinteGeracao((geracao, melhor) -> job.registrarProgresso(geracao, melhor.getFitness()));
+            job.concluir(ag.executar());
+        } catch (Throwable e) {
+            // Inclui Errors (ex.: OutOfMemoryError): o job falha, mas o worker continua atendendo
+            job.falhar(e);
+        }
+    }
+
+    // Remove os jobs finalizados mais antigos quando o limite de retenção é excedido
+    private void descartarJobsAntigos() {
+        Iterator<JobOtimizacao> iterador = jobsPorId.values().iterator();
+        while (jobsPorId.size() > maximoJobsRetidos && iterador.hasNext()) {
+            JobOtimizacao job = iterador.next();
+            if (job.isFinalizado()) {
+                iterador.remove();
+                jobsPorChave.remove(job.getChave(), job);
+            }
+        }
+    }
+
+    // Hash SHA-256 do catálogo, das restrições e de todos os parâmetros do job
+    private static String calcularChave(ProblemaCircuito problema, Properties configuracao) {
+        StringBuilder canonico = new StringBuilder();
+        for (Componente comp : problema.getCatalogo()) {
+            canonico.append(comp.getId()).append('|')
+                    .append(comp.getTipo()).append('|')
+                    .append(comp.getCusto()).append('|')
+                    .append(comp.getEficienciaEnergetica()).append('|')
+                    .append(comp.getTamanho()).append(';');
+        }
+        canonico.append(problema.getOrcamentoMaximo()).append('|')
+                .append(problema.getTamanhoMaximoPlaca()).append('|')
+                .append(problema.getEficienciaMinima()).append('|')
+                .append(problema.getPesoEficiencia()).append('|')
+                .append(problema.getPesoCusto()).append(';');
+
+        Map<String, String> parametrosOrdenados = new TreeMap<>();
+        for (String nome : configuracao.stringPropertyNames()) {
+            parametrosOrdenados.put(nome, configuracao.getProperty(nome));
+        }
+        canonico.append(parametrosOrdenados);
+
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(canonico.toString().getBytes(StandardCharsets.UTF_8));
+            return hexadecimal(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private static String hexadecimal(byte[] bytes) {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Resultado de uma submissão: o job, se ele veio do cache e a assinatura
+     * que permite a quem submeteu cancelá-lo
+     */
+    public static class Submissao {
+        private final JobOtimizacao job;
+        private final boolean doCache;
+        private final String assinatura;
+
+        public Submissao(JobOtimizacao job, boolean doCache, String assinatura) {
+            this.job = job;
+            this.doCache = doCache;
+            this.assinatura = assinatura;
+        }
+
+        public JobOtimizacao getJob() {
+            return job;
+        }
+
+        public boolean isDoCache() {
+            return doCache;
+        }
+
+        public String getAssinatura() {
+            return assinatura;
+        }
+    }
+}
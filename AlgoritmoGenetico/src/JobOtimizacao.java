@@ -0,0 +1,258 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Job de otimização submetido ao serviço: guarda o problema, os parâmetros do
+ * algoritmo genético, o estado da execução e os eventos de progresso. Todos
+ * os métodos são sincronizados, pois o job é lido pelas threads HTTP enquanto
+ * um worker o executa.
+ *
+ * Os eventos são numerados em sequência e apenas os mais recentes ficam
+ * guardados para as transmissões de progresso; o último progresso fica em
+ * campos próprios. Ao terminar, o job guarda só o evento final
+ *
+ * Um job pode ser compartilhado pelo cache entre clientes que submeteram a
+ * mesma requisição. Cada submissão recebe uma assinatura (token aleatório
+ * entregue só a quem submeteu), exigida para cancelar. As assinaturas e o
+ * cliente de origem não aparecem no JSON público do job
+ */
+public class JobOtimizacao {
+    // Eventos guardados para transmissões atrasadas; os mais antigos são descartados
+    private static final int MAXIMO_EVENTOS_RETIDOS = 100;
+
+    public enum Status {
+        NA_FILA, EXECUTANDO, CONCLUIDO, CANCELADO, FALHOU
+    }
+
+    private final String id;
+    private final String cliente;
+    private final String chave;
+    private final ProblemaCircuito problema;
+    private final Properties configuracao;
+    private final Deque<Map<String, Object>> eventosRecentes;
+    private long totalEventos;
+    private int ultimaGeracao;
+    private double ultimoMelhorFitness;
+    private final Set<String> assinaturas;
+    private Status status;
+    private CromossomoCircuito resultado;
+    private String erro;
+    private Thread threadExecucao;
+    private boolean cancelamentoSolicitado;
+
+    public JobOtimizacao(String id, String cliente, String chave, ProblemaCircuito problema,
+            Properties configuracao) {
+        this.id = id;
+        this.cliente = cliente;
+        this.chave = chave;
+        this.problema = problema;
+        this.configuracao = configuracao;
+        this.eventosRecentes = new ArrayDeque<>();
+        this.ultimaGeracao = -1;
+        this.assinaturas = new HashSet<>();
+        this.status = Status.NA_FILA;
+    }
+
+    // Marca o job como em execução pela thread informada; falha se já foi cancelado
+    public synchronized boolean iniciar(Thread thread) {
+        if (status != Status.NA_FILA) {
+            return false;
+        }
+        status = Status.EXECUTANDO;
+        threadExecucao = thread;
+        registrarEvento(evento("status"));
+        return true;
+    }
+
+    public synchronized void registrarProgresso(int geracao, double melhorFitness) {
+        ultimaGeracao = geracao;
+        ultimoMelhorFitness = melhorFitness;
+
+        Map<String, Object> progresso = evento("progresso");
+        progresso.put("geracao", geracao);
+        progresso.put("melhor_fitness", melhorFitness);
+        registrarEvento(progresso);
+    }
+
+    // Guarda a melhor solução; se houve pedido de cancelamento, ela é parcial
+    public synchronized void concluir(CromossomoCircuito melhorSolucao) {
+        threadExecucao = null;
+        resultado = melhorSolucao;
+        status = cancelamentoSolicitado ? Status.CANCELADO : Status.CONCLUIDO;
+        registrarEventoFinal();
+    }
+
+    public synchronized void falhar(Throwable e) {
+        threadExecucao = null;
+        erro = e.getClass().getSimpleName() + ": " + e.getMessage();
+        status = Status.FALHOU;
+        registrarEventoFinal();
+    }
+
+    /**
+     * Cancela o job: se ainda está na fila, apenas muda o estado; se está em
+     * execução, interrompe a thread, e o algoritmo para assim que percebe a interrupção,
+     * inclusive no meio de uma geração
+     */
+    public synchronized boolean cancelar() {
+        if (isFinalizado()) {
+            return false;
+        }
+
+        cancelamentoSolicitado = true;
+        if (status == Status.NA_FILA) {
+            status = Status.CANCELADO;
+            registrarEventoFinal();
+        } else if (threadExecucao != null) {
+            threadExecucao.interrupt();
+        }
+        return true;
+    }
+
+    /**
+     * Aguarda até existirem eventos com sequência a partir da informada (ou o
+     * job terminar) e devolve os que ainda estão guardados; eventos já
+     * descartados são pulados. Lista vazia com o job finalizado indica que não
+     * haverá mais eventos
+     */
+    public synchronized List<Map<String, Object>> aguardarEventos(long desde, long timeoutMs)
+            throws InterruptedException {
+        long prazo = System.currentTimeMillis() + timeoutMs;
+        while (totalEventos <= desde && !isFinalizado()) {
+            long restante = prazo - System.currentTimeMillis();
+            if (restante <= 0) {
+                break;
+            }
+            wait(restante);
+        }
+
+        List<Map<String, Object>> novos = new ArrayList<>();
+        long sequencia = totalEventos - eventosRecentes.size();
+        for (Map<String, Object> evento : eventosRecentes) {
+            if (sequencia++ >= desde) {
+                novos.add(evento);
+            }
+        }
+        return novos;
+    }
+
+    public synchronized void adicionarAssinatura(String assinatura) {
+        assinaturas.add(assinatura);
+    }
+
+    // Remove a assinatura e devolve quantas restam
+    public synchronized int removerAssinatura(String assinatura) {
+        assinaturas.remove(assinatura);
+        return assinaturas.size();
+    }
+
+    public synchronized boolean possuiAssinatura(String assinatura) {
+        return assinatura != null && assinaturas.contains(assinatura);
+    }
+
+    public synchronized boolean isFinalizado() {
+        return status == Status.CONCLUIDO || status == Status.CANCELADO || status == Status.FALHOU;
+    }
+
+    // Jobs cancelados ou com falha não devem ser reaproveitados pelo cache
+    public synchronized boolean isReaproveitavel() {
+        return status != Status.CANCELADO && status != Status.FALHOU;
+    }
+
+    public synchronized Status getStatus() {
+        return status;
+    }
+
+    public synchronized Map<String, Object> paraJson() {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", id);
+        json.put("chave", chave);
+        json.put("status", status.name());
+
+        if (ultimaGeracao >= 0) {
+            json.put("geracao", ultimaGeracao);
+            json.put("melhor_fitness", ultimoMelhorFitness);
+        }
+
+        if (resultado != null) {
+            json.put("resultado", resultadoParaJson(resultado));
+        }
+        if (erro != null) {
+            json.put("erro", erro);
+        }
+        return json;
+    }
+
+    // Getters
+    public String getId() {
+        return id;
+    }
+
+    public String getCliente() {
+        return cliente;
+    }
+
+    public String getChave() {
+        return chave;
+    }
+
+    public ProblemaCircuito getProblema() {
+        return problema;
+    }
+
+    public Properties getConfiguracao() {
+        return configuracao;
+    }
+
+    private Map<String, Object> evento(String tipo) {
+        Map<String, Object> evento = new LinkedHashMap<>();
+        evento.put("tipo", tipo);
+        evento.put("sequencia", totalEventos);
+        evento.put("status", status.name());
+        return evento;
+    }
+
+    private void registrarEvento(Map<String, Object> evento) {
+        eventosRecentes.addLast(evento);
+        totalEventos++;
+        if (eventosRecentes.size() > MAXIMO_EVENTOS_RETIDOS) {
+            eventosRecentes.removeFirst();
+        }
+        notifyAll();
+    }
+
+    // Job finalizado: o histórico é descartado e fica apenas o evento de status final,
+    // que repete o último progresso para quem não chegou a recebê-lo
+    private void registrarEventoFinal() {
+        Map<String, Object> evento = evento("status");
+        if (ultimaGeracao >= 0) {
+            evento.put("geracao", ultimaGeracao);
+            evento.put("melhor_fitness", ultimoMelhorFitness);
+        }
+        eventosRecentes.clear();
+        registrarEvento(evento);
+    }
+
+    private static Map<String, Object> resultadoParaJson(CromossomoCircuito solucao) {
+        List<Object> componentes = new ArrayList<>();
+        for (Componente comp : solucao.getComponentesSelecionados()) {
+            componentes.add(comp.getId());
+        }
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("fitness", solucao.getFitness());
+        json.put("viavel", solucao.isViavel());
+        json.put("custo_total", solucao.calcularCustoTotal());
+        json.put("eficiencia_media", solucao.calcularEficienciaMedia());
+        json.put("tamanho_total", solucao.calcularTamanhoTotal());
+        json.put("componentes", componentes);
+        return json;
+    }
+}
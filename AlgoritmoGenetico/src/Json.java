@@ -0,0 +1,283 @@
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Leitura e escrita de JSON mínimas para o serviço de otimização, sem
+ * dependências externas. Objetos viram Map, arrays viram List, números viram
+ * Double e os demais valores viram String, Boolean ou null. A leitura é
+ * recursiva, então o aninhamento é limitado para que um texto malicioso gere
+ * IllegalArgumentException em vez de StackOverflowError
+ */
+public class Json {
+    private static final int PROFUNDIDADE_MAXIMA = 64;
+
+    private final String texto;
+    private int posicao;
+    private int profundidade;
+
+    private Json(String texto) {
+        this.texto = texto;
+        this.posicao = 0;
+    }
+
+    // Converte o texto JSON em Map/List/Double/String/Boolean/null
+    public static Object ler(String texto) {
+        Json leitor = new Json(texto);
+        Object valor = leitor.lerValor();
+        leitor.pularEspacos();
+        if (leitor.posicao != texto.length()) {
+            throw leitor.erro("Conteúdo inesperado após o fim do JSON");
+        }
+        return valor;
+    }
+
+    // Converte Map/List/Number/String/Boolean/null em texto JSON
+    public static String escrever(Object valor) {
+        StringBuilder saida = new StringBuilder();
+        escreverValor(valor, saida);
+        return saida.toString();
+    }
+
+    private Object lerValor() {
+        pularEspacos();
+        if (posicao >= texto.length()) {
+            throw erro("Fim inesperado do JSON");
+        }
+
+        char c = texto.charAt(posicao);
+        switch (c) {
+            case '{':
+            case '[':
+                if (++profundidade > PROFUNDIDADE_MAXIMA) {
+                    throw erro("Aninhamento acima de " + PROFUNDIDADE_MAXIMA + " níveis");
+                }
+                Object composto = c == '{' ? lerObjeto() : lerArray();
+                profundidade--;
+                return composto;
+            case '"':
+                return lerString();
+            case 't':
+                return lerLiteral("true", Boolean.TRUE);
+            case 'f':
+                return lerLiteral("false", Boolean.FALSE);
+            case 'n':
+                return lerLiteral("null", null);
+            default:
+                return lerNumero();
+        }
+    }
+
+    private Map<String, Object> lerObjeto() {
+        Map<String, Object> objeto = new LinkedHashMap<>();
+        posicao++;
+        pularEspacos();
+        if (consumir('}')) {
+            return objeto;
+        }
+
+        do {
+            pularEspacos();
+            if (posicao >= texto.length() || texto.charAt(posicao) != '"') {
+                throw erro("Esperado nome de campo");
+            }
+            String chave = lerString();
+            pularEspacos();
+            if (!consumir(':')) {
+                throw erro("Esperado ':'");
+            }
+            objeto.put(chave, lerValor());
+            pularEspacos();
+        } while (consumir(','));
+
+        if (!consumir('}')) {
+            throw erro("Esperado '}'");
+        }
+        return objeto;
+    }
+
+    private List<Object> lerArray() {
+        List<Object> array = new ArrayList<>();
+        posicao++;
+        pularEspacos();
+        if (consumir(']')) {
+            return array;
+        }
+
+        do {
+            array.add(lerValor());
+            pularEspacos();
+        } while (consumir(','));
+
+        if (!consumir(']')) {
+            throw erro("Esperado ']'");
+        }
+        return array;
+    }
+
+    private String lerString() {
+        StringBuilder valor = new StringBuilder();
+        posicao++;
+
+        while (posicao < texto.length()) {
+            char c = texto.charAt(posicao++);
+            if (c == '"') {
+                return valor.toString();
+            }
+            if (c != '\\') {
+                valor.append(c);
+                continue;
+            }
+
+            if (posicao >= texto.length()) {
+                break;
+            }
+            char escape = texto.charAt(posicao++);
+            switch (escape) {
+                case 'b':
+                    valor.append('\b');
+                    break;
+                case 'f':
+                    valor.append('\f');
+                    break;
+                case 'n':
+                    valor.append('\n');
+                    break;
+                case 'r':
+                    valor.append('\r');
+                    break;
+                case 't':
+                    valor.append('\t');
+                    break;
+                case 'u':
+                    if (posicao + 4 > texto.length()) {
+                        throw erro("Escape unicode incompleto");
+                    }
+                    try {
+                        valor.append((char) Integer.parseInt(texto.substring(posicao, posicao + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw erro("Escape unicode inválido");
+                    }
+                    posicao += 4;
+                    break;
+                default:
+                    valor.append(escape);
+            }
+        }
+
+        throw erro("String não terminada");
+    }
+
+    private Double lerNumero() {
+        int inicio = posicao;
+        while (posicao < texto.length() && "+-0123456789.eE".indexOf(texto.charAt(posicao)) >= 0) {
+            posicao++;
+        }
+
+        try {
+            return Double.valueOf(texto.substring(inicio, posicao));
+        } catch (NumberFormatException e) {
+            posicao = inicio;
+            throw erro("Valor inválido");
+        }
+    }
+
+    private Object lerLiteral(String literal, Object valor) {
+        if (!texto.startsWith(literal, posicao)) {
+            throw erro("Valor inválido");
+        }
+        posicao += literal.length();
+        return valor;
+    }
+
+    private boolean consumir(char esperado) {
+        if (posicao < texto.length() && texto.charAt(posicao) == esperado) {
+            posicao++;
+            return true;
+        }
+        return false;
+    }
+
+    private void pularEspacos() {
+        while (posicao < texto.length() && Character.isWhitespace(texto.charAt(posicao))) {
+            posicao++;
+        }
+    }
+
+    private IllegalArgumentException erro(String mensagem) {
+        return new IllegalArgumentException(mensagem + " (posição " + posicao + ")");
+    }
+
+    private static void escreverValor(Object valor, StringBuilder saida) {
+        if (valor == null) {
+            saida.append("null");
+        } else if (valor instanceof String) {
+            escreverString((String) valor, saida);
+        } else if (valor instanceof Boolean) {
+            saida.append(valor);
+        } else if (valor instanceof Double || valor instanceof Float) {
+            double numero = ((Number) valor).doubleValue();
+            saida.append(Double.isFinite(numero) ? Double.toString(numero) : "null");
+        } else if (valor instanceof Number) {
+            saida.append(((Number) valor).longValue());
+        } else if (valor instanceof Map) {
+            saida.append('{');
+            boolean primeiro = true;
+            for (Map.Entry<?, ?> entrada : ((Map<?, ?>) valor).entrySet()) {
+                if (!primeiro) {
+                    saida.append(',');
+                }
+                primeiro = false;
+                escreverString(String.valueOf(entrada.getKey()), saida);
+                saida.append(':');
+                escreverValor(entrada.getValue(), saida);
+            }
+            saida.append('}');
+        } else if (valor instanceof List) {
+            saida.append('[');
+            boolean primeiro = true;
+            for (Object item : (List<?>) valor) {
+                if (!primeiro) {
+                    saida.append(',');
+                }
+                primeiro = false;
+                escreverValor(item, saida);
+            }
+            saida.append(']');
+        } else {
+            escreverString(valor.toString(), saida);
+        }
+    }
+
+    private static void escreverString(String texto, StringBuilder saida) {
+        saida.append('"');
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '"':
+                    saida.append("\\\"");
+                    break;
+                case '\\':
+                    saida.append("\\\\");
+                    break;
+                case '\n':
+                    saida.append("\\n");
+                    break;
+                case '\r':
+                    saida.append("\\r");
+                    break;
+                case '\t':
+                    saida.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        saida.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        saida.append(c);
+                    }
+            }
+        }
+        saida.append('"');
+    }
+}
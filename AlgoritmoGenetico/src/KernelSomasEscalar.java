@@ -0,0 +1,35 @@
+/**
+ * Kernel de somas mascaradas em laço escalar, usado quando a Vector API não
+ * está disponível
+ */
+public class KernelSomasEscalar implements KernelSomasMascaradas {
+
+    @Override
+    public void somarLote(double[] custos, double[] tamanhos, double[] eficiencias, boolean[] mascaras,
+            int quantidade, double[] saida) {
+        // Um cromossomo por vez, com as somas em registradores
+        for (int c = 0; c < quantidade; c++) {
+            double custo = 0;
+            double tamanho = 0;
+            double eficiencia = 0;
+            int numero = 0;
+            for (int j = 0, posicao = c; j < custos.length; j++, posicao += quantidade) {
+                if (mascaras[posicao]) {
+                    custo += custos[j];
+                    tamanho += tamanhos[j];
+                    eficiencia += eficiencias[j];
+                    numero++;
+                }
+            }
+            saida[c] = custo;
+            saida[quantidade + c] = tamanho;
+            saida[2 * quantidade + c] = eficiencia;
+            saida[3 * quantidade + c] = numero;
+        }
+    }
+
+    @Override
+    public String getNome() {
+        return "escalar";
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ * Soma as colunas de custo, tamanho e eficiência do catálogo apenas nas
+ * posições marcadas pelas máscaras de genes selecionados, para um lote de
+ * cromossomos em uma única passada pelo catálogo.
+ *
+ * As máscaras ficam em layout por gene: mascaras[j * quantidade + c] indica se
+ * o cromossomo c do lote seleciona a posição j do catálogo, de modo que
+ * cromossomos vizinhos ocupam posições (e lanes) vizinhas
+ */
+public interface KernelSomasMascaradas {
+
+    /**
+     * Escreve em saida, para cada cromossomo c do lote: [c] custo total,
+     * [quantidade + c] tamanho total, [2 * quantidade + c] soma das
+     * eficiências e [3 * quantidade + c] quantidade de posições selecionadas
+     */
+    void somarLote(double[] custos, double[] tamanhos, double[] eficiencias, boolean[] mascaras, int quantidade,
+            double[] saida);
+
+    // Nome da implementação, para relatórios
+    String getNome();
+
+    /**
+     * Usa o kernel da Vector API quando ele foi compilado (fontes em
+     * src-vetorial) e o módulo jdk.incubator.vector está carregado
+     * (--add-modules jdk.incubator.vector); caso contrário, usa o escalar
+     */
+    static KernelSomasMascaradas criar() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (KernelSomasMascaradas) Class.forName("KernelSomasVetorial")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Segue para o kernel escalar
+            }
+        }
+        return new KernelSomasEscalar();
+    }
+}
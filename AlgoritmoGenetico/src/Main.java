@@ -24,37 +24,37 @@ public class Main {
     System.out.println("• Respeite limitações de espaço da placa-mãe");
     System.out.println("• Mantenha-se dentro do orçamento disponível");
     System.out.println();
-    
-    exibirParametrosProblema();
+
+    Properties config = carregarConfiguracao();
 
     // Gera os componentes disponíveis
     List<Componente> componentesDisponiveis = GeradorComponentes.gerarComponentesExemplo();
 
     componentesDisponiveis.addAll(GeradorComponentes.gerarComponentesAleatorios(20));
 
-    System.out.println("\n" + "=".repeat(70));
+    ProblemaCircuito problema = ProblemaCircuito.aPartirDeConfiguracao(componentesDisponiveis, config);
 
-    Properties config = carregarConfiguracao();
+    exibirParametrosProblema(problema);
+
+    System.out.println("\n" + "=".repeat(70));
 
     // Configura os parâmetros do algoritmo genético
-    int tamanhoPopulacao = Integer.parseInt(config.getProperty("tamanho_populacao", "100"));
-    int numeroGeracoes = Integer.parseInt(config.getProperty("numero_geracoes", "200"));
-    double taxaMutacao = Double.parseDouble(config.getProperty("taxa_mutacao", "0.15"));
-    double taxaCruzamento = Double.parseDouble(config.getProperty("taxa_cruzamento", "0.8"));
-    double taxaElitismo = Double.parseDouble(config.getProperty("taxa_elitismo", "0.1"));
-    int tamanhoTorneio = Integer.parseInt(config.getProperty("tamanho_torneio", "3"));
-
-    AlgoritmoGeneticoCircuito ag = new AlgoritmoGeneticoCircuito(
-        componentesDisponiveis,
-        tamanhoPopulacao,
-        numeroGeracoes,
-        taxaMutacao,
-        taxaCruzamento,
-        taxaElitismo,
-        tamanhoTorneio
-    );
-
-    CromossomoCircuito melhorSolucao = ag.executar();
+    AvaliadorFitness avaliador = criarAvaliador(config, problema);
+    AlgoritmoGeneticoCircuito ag = AlgoritmoGeneticoCircuito.aPartirDeConfiguracao(problema, config, avaliador);
+
+    if (args.length > 0 && args[0].equals("--benchmark")) {
+      double limiteTempo = Double.parseDouble(config.getProperty("limite_tempo_bnb_segundos", "30"));
+      String arquivoCsv = config.getProperty("arquivo_benchmark", "benchmark_qualidade.csv");
+      try (avaliador) {
+        BenchmarkQualidade.executar(ag, problema, limiteTempo, arquivoCsv);
+      }
+      return;
+    }
+
+    CromossomoCircuito melhorSolucao;
+    try (avaliador) {
+      melhorSolucao = ag.executar();
+    }
 
     // Exibe a análise da solução
     exibirAnaliseDetalhada(melhorSolucao, componentesDisponiveis);
@@ -62,15 +62,49 @@ public class Main {
     System.out.println("\n" + "=".repeat(70));
 
     if (args.length > 0 && args[0].equals("--teste-comparativo")) {
-      executarTesteComparativo(componentesDisponiveis);
+      executarTesteComparativo(problema);
     }
   }
 
-  private static void exibirParametrosProblema() {
+  // Cria o avaliador de fitness: local (padrão), vetorial ou assíncrono com o simulador de teste
+  private static AvaliadorFitness criarAvaliador(Properties config, ProblemaCircuito problema) {
+    boolean assincrona = Boolean.parseBoolean(config.getProperty("avaliacao_assincrona", "false"));
+    boolean emColunas = Boolean.parseBoolean(config.getProperty("avaliacao_vetorial", "false"));
+
+    if (assincrona && emColunas) {
+      System.out.println("Aviso: avaliacao_vetorial é ignorada quando avaliacao_assincrona=true");
+    }
+
+    if (!assincrona) {
+      if (emColunas) {
+        AvaliadorFitnessVetorial vetorial = new AvaliadorFitnessVetorial(problema);
+        System.out.println("Avaliação em colunas: kernel " + vetorial.getKernel().getNome());
+        return vetorial;
+      }
+      return new AvaliadorFitnessSincrono();
+    }
+
+    int maxSimultaneas = Integer.parseInt(config.getProperty("avaliacoes_simultaneas_max", "16"));
+    int tamanhoLote = Integer.parseInt(config.getProperty("tamanho_lote_avaliacao", "4"));
+    long latenciaInicializacao = Long.parseLong(config.getProperty("latencia_simulador_inicializacao_ms", "20"));
+    long latenciaPorCircuito = Long.parseLong(config.getProperty("latencia_simulador_circuito_ms", "5"));
+
+    System.out.printf("Avaliação assíncrona: até %d avaliações simultâneas, lotes de %d%n",
+        maxSimultaneas, tamanhoLote);
+
+    return new AvaliadorFitnessAssincrono(
+        new SimuladorCircuitoStub(latenciaInicializacao, latenciaPorCircuito),
+        maxSimultaneas,
+        tamanhoLote);
+  }
+
+  private static void exibirParametrosProblema(ProblemaCircuito problema) {
     System.out.println("RESTRIÇÕES DO PROBLEMA:");
-    System.out.printf("• Orçamento máximo: R$ %.2f%n", CromossomoCircuito.ORCAMENTO_MAXIMO);
-    System.out.printf("• Tamanho máximo da placa: %.2f cm²%n", CromossomoCircuito.TAMANHO_MAXIMO_PLACA);
-    System.out.printf("• Eficiência mínima exigida: %.1f%%%n", CromossomoCircuito.EFICIENCIA_MINIMA * 100);
+    System.out.printf("• Orçamento máximo: R$ %.2f%n", problema.getOrcamentoMaximo());
+    System.out.printf("• Tamanho máximo da placa: %.2f cm²%n", problema.getTamanhoMaximoPlaca());
+    System.out.printf("• Eficiência mínima exigida: %.1f%%%n", problema.getEficienciaMinima() * 100);
+    System.out.printf("• Pesos no fitness: eficiência %.1f%%, orçamento %.1f%%%n",
+        problema.getPesoEficiencia() * 100, problema.getPesoCusto() * 100);
     System.out.println();
   }
 
@@ -87,14 +121,14 @@ public class Main {
     System.out.println("MÉTRICAS PRINCIPAIS:");
     System.out.printf("• Custo total: R$ %.2f (%.1f%% do orçamento)%n",
         solucao.calcularCustoTotal(),
-        (solucao.calcularCustoTotal() / CromossomoCircuito.ORCAMENTO_MAXIMO) * 100);
+        (solucao.calcularCustoTotal() / solucao.getProblema().getOrcamentoMaximo()) * 100);
 
     System.out.printf("• Eficiência energética média: %.1f%%%n",
         solucao.calcularEficienciaMedia() * 100);
 
     System.out.printf("• Espaço utilizado: %.2f cm² (%.1f%% da placa)%n",
         solucao.calcularTamanhoTotal(),
-        (solucao.calcularTamanhoTotal() / CromossomoCircuito.TAMANHO_MAXIMO_PLACA) * 100);
+        (solucao.calcularTamanhoTotal() / solucao.getProblema().getTamanhoMaximoPlaca()) * 100);
 
     System.out.printf("• Número de componentes: %d de %d disponíveis%n",
         solucao.getNumeroComponentes(), todosComponentes.size());
@@ -117,7 +151,7 @@ public class Main {
     }
   }
 
-  private static void executarTesteComparativo(List<Componente> componentes) {
+  private static void executarTesteComparativo(ProblemaCircuito problema) {
     System.out.println("\n" + "=".repeat(70));
     System.out.println("                    TESTE COMPARATIVO");
     System.out.println("=".repeat(70));
@@ -163,7 +197,7 @@ public class Main {
       System.out.printf("\nConfiguracao %d: Pop=%d, Ger=%d, Mut=%.2f, Cruz=%.2f%n",
           i + 1, pop, ger, mut, cruz, elit );
 
-      AlgoritmoGeneticoCircuito ag = new AlgoritmoGeneticoCircuito      (componentes, pop, ger, mut, cruz, elit, torneio);
+      AlgoritmoGeneticoCircuito ag = new AlgoritmoGeneticoCircuito      (problema, pop, ger, mut, cruz, elit, torneio);
       long inicio = System.currentTimeMillis();
       CromossomoCircuito resultado = ag.executar();
       long fim = System.currentTimeMillis();
@@ -175,7 +209,7 @@ public class Main {
   }
 
   // Carrega as configurações default do arquivo de configurações
-  private static Properties carregarConfiguracao() {
+  static Properties carregarConfiguracao() {
     Properties config = new Properties();
 
     try {
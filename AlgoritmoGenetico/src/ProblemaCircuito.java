@@ -0,0 +1,192 @@
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Definição imutável de um problema de otimização de circuito: catálogo de
+ * componentes, restrições (orçamento, placa e eficiência mínima) e pesos da
+ * função objetivo. Cada execução do algoritmo genético carrega a sua, o que
+ * permite otimizar problemas diferentes ao mesmo tempo na mesma JVM
+ */
+public final class ProblemaCircuito {
+    public static final double ORCAMENTO_PADRAO = 1000.0;
+    public static final double TAMANHO_PLACA_PADRAO = 100.0;
+    public static final double EFICIENCIA_MINIMA_PADRAO = 0.6;
+    public static final double PESO_EFICIENCIA_PADRAO = 0.30;
+    public static final double PESO_CUSTO_PADRAO = 0.15;
+
+    // Pesos fixos da função objetivo
+    static final double PESO_NUMERO_COMPONENTES = 0.35;
+    static final double PESO_ESPACO = 0.10;
+    static final double NUMERO_COMPONENTES_REFERENCIA = 50.0;
+
+    // Fatia do fitness dividida entre eficiência e aproveitamento do orçamento
+    private static final double FATIA_EFICIENCIA_CUSTO = PESO_EFICIENCIA_PADRAO + PESO_CUSTO_PADRAO;
+
+    private final List<Componente> catalogo;
+    private final double orcamentoMaximo;
+    private final double tamanhoMaximoPlaca;
+    private final double eficienciaMinima;
+    private final double pesoEficiencia;
+    private final double pesoCusto;
+
+    /**
+     * Os pesos de eficiência e custo são relativos: dividem entre si a fatia de
+     * 45% do fitness (ex.: 0.6/0.4 resulta em 27% e 18%), mantendo a escala do
+     * fitness independente da configuração
+     */
+    public ProblemaCircuito(List<Componente> catalogo,
+            double orcamentoMaximo,
+            double tamanhoMaximoPlaca,
+            double eficienciaMinima,
+            double pesoEficiencia,
+            double pesoCusto) {
+        // Comparações negadas também rejeitam NaN
+        if (!(orcamentoMaximo > 0) || Double.isInfinite(orcamentoMaximo) ||
+                !(tamanhoMaximoPlaca > 0) || Double.isInfinite(tamanhoMaximoPlaca)) {
+            throw new IllegalArgumentException("Orçamento e tamanho da placa devem ser positivos e finitos");
+        }
+        if (!(eficienciaMinima >= 0 && eficienciaMinima <= 1)) {
+            throw new IllegalArgumentException("Eficiência mínima deve estar entre 0 e 1: " + eficienciaMinima);
+        }
+        if (!(pesoEficiencia >= 0) || Double.isInfinite(pesoEficiencia) ||
+                !(pesoCusto >= 0) || Double.isInfinite(pesoCusto) || pesoEficiencia + pesoCusto <= 0) {
+            throw new IllegalArgumentException(
+                    "Pesos de eficiência e custo devem ser finitos, não negativos e não ambos zero");
+        }
+
+        // Componente.equals compara apenas o id: ids repetidos se fundiriam no cruzamento
+        Set<Integer> ids = new HashSet<>();
+        for (Componente comp : catalogo) {
+            if (!ids.add(comp.getId())) {
+                throw new IllegalArgumentException("ID de componente duplicado no catálogo: " + comp.getId());
+            }
+            if (!(comp.getCusto() >= 0) || Double.isInfinite(comp.getCusto()) ||
+                    !(comp.getTamanho() >= 0) || Double.isInfinite(comp.getTamanho()) ||
+                    !(comp.getEficienciaEnergetica() >= 0 && comp.getEficienciaEnergetica() <= 1)) {
+                throw new IllegalArgumentException("Componente " + comp.getId()
+                        + " deve ter custo e tamanho finitos e não negativos e eficiência entre 0 e 1");
+            }
+        }
+
+        this.catalogo = List.copyOf(catalogo);
+        this.orcamentoMaximo = orcamentoMaximo;
+        this.tamanhoMaximoPlaca = tamanhoMaximoPlaca;
+        this.eficienciaMinima = eficienciaMinima;
+        this.pesoEficiencia = FATIA_EFICIENCIA_CUSTO * pesoEficiencia / (pesoEficiencia + pesoCusto);
+        this.pesoCusto = FATIA_EFICIENCIA_CUSTO * pesoCusto / (pesoEficiencia + pesoCusto);
+    }
+
+    // Problema original da "Tecnologia Inovadora" com o catálogo informado
+    public static ProblemaCircuito padrao(List<Componente> catalogo) {
+        return new ProblemaCircuito(catalogo, ORCAMENTO_PADRAO, TAMANHO_PLACA_PADRAO, EFICIENCIA_MINIMA_PADRAO,
+                PESO_EFICIENCIA_PADRAO, PESO_CUSTO_PADRAO);
+    }
+
+    // Lê restrições e pesos do arquivo de configurações, usando os valores padrão como fallback
+    public static ProblemaCircuito aPartirDeConfiguracao(List<Componente> catalogo, Properties config) {
+        return new ProblemaCircuito(catalogo,
+                Double.parseDouble(config.getProperty("orcamento_maximo", String.valueOf(ORCAMENTO_PADRAO))),
+                Double.parseDouble(config.getProperty("tamanho_maximo_placa", String.valueOf(TAMANHO_PLACA_PADRAO))),
+                Double.parseDouble(config.getProperty("eficiencia_minima", String.valueOf(EFICIENCIA_MINIMA_PADRAO))),
+                Double.parseDouble(config.getProperty("peso_eficiencia", String.valueOf(PESO_EFICIENCIA_PADRAO))),
+                Double.parseDouble(config.getProperty("peso_custo", String.valueOf(PESO_CUSTO_PADRAO))));
+    }
+
+    /**
+     * Calcula o fitness a partir das métricas agregadas de um circuito:
+     * - Soluções inviáveis recebem fitness negativo proporcional à violação
+     * - Soluções viáveis combinam número de componentes, eficiência,
+     * aproveitamento de orçamento e espaço, mais bônus
+     */
+    public double calcularFitness(int numeroComponentes, double custoTotal, double eficienciaMedia,
+            double tamanhoTotal) {
+        // Penalidades para violações de restrições
+        double penalidade = 0;
+
+        if (custoTotal > orcamentoMaximo) {
+            penalidade += (custoTotal - orcamentoMaximo) / orcamentoMaximo * 2000;
+        }
+
+        if (tamanhoTotal > tamanhoMaximoPlaca) {
+            penalidade += (tamanhoTotal - tamanhoMaximoPlaca) / tamanhoMaximoPlaca * 2000;
+        }
+
+        if (eficienciaMedia < eficienciaMinima) {
+            penalidade += (eficienciaMinima - eficienciaMedia) * 1000;
+        }
+
+        if (penalidade > 0) {
+            return -penalidade;
+        }
+
+        double fatorNumeroComponentes = (double) numeroComponentes / NUMERO_COMPONENTES_REFERENCIA;
+        double fatorEficiencia = eficienciaMedia;
+        double fatorAproveitamentoOrcamento = custoTotal / orcamentoMaximo;
+        double fatorAproveitamentoEspaco = tamanhoTotal / tamanhoMaximoPlaca;
+
+        // Bônus para densidade de componentes (componentes por unidade de espaço)
+        double densidadeComponentes = numeroComponentes / Math.max(tamanhoTotal, 1.0);
+        double bonusDensidade = Math.min(densidadeComponentes / 5.0, 0.2);
+
+        // Bônus para a relação eficiência/custo
+        double eficienciaPorCusto = numeroComponentes > 0 ? (eficienciaMedia * numeroComponentes) / custoTotal : 0;
+        double bonusEficienciaCusto = Math.min(eficienciaPorCusto, 0.15);
+
+        // Fitness ponderado - prioriza número de componentes e eficiência
+        double fitness = ((fatorNumeroComponentes * PESO_NUMERO_COMPONENTES) +
+                (fatorEficiencia * pesoEficiencia) +
+                (fatorAproveitamentoOrcamento * pesoCusto) +
+                (fatorAproveitamentoEspaco * PESO_ESPACO) +
+                bonusDensidade +
+                bonusEficienciaCusto);
+
+        if (numeroComponentes >= 20 && eficienciaMedia >= 0.8) {
+            fitness += 0.2; // +20% de bônus para soluções densas e eficientes
+        }
+
+        return fitness;
+    }
+
+    // Verifica as restrições de orçamento, tamanho da placa e eficiência mínima
+    public boolean isViavel(double custoTotal, double tamanhoTotal, double eficienciaMedia) {
+        return custoTotal <= orcamentoMaximo &&
+                tamanhoTotal <= tamanhoMaximoPlaca &&
+                eficienciaMedia >= eficienciaMinima;
+    }
+
+    // Getters
+    public List<Componente> getCatalogo() {
+        return catalogo;
+    }
+
+    public double getOrcamentoMaximo() {
+        return orcamentoMaximo;
+    }
+
+    public double getTamanhoMaximoPlaca() {
+        return tamanhoMaximoPlaca;
+    }
+
+    public double getEficienciaMinima() {
+        return eficienciaMinima;
+    }
+
+    // Peso efetivo da eficiência no fitness (após dividir a fatia com o custo)
+    public double getPesoEficiencia() {
+        return pesoEficiencia;
+    }
+
+    // Peso efetivo do aproveitamento do orçamento no fitness
+    public double getPesoCusto() {
+        return pesoCusto;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "Problema[Componentes=%d, Orçamento=%.2f, Placa=%.2f, EficiênciaMínima=%.2f, PesoEficiência=%.3f, PesoCusto=%.3f]",
+                catalogo.size(), orcamentoMaximo, tamanhoMaximoPlaca, eficienciaMinima, pesoEficiencia, pesoCusto);
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * Resultado do solucionador branch-and-bound: melhor solução encontrada e
+ * limite superior garantido para o fitness ótimo
+ */
+public class ResultadoBranchAndBound {
+    private final CromossomoCircuito melhorSolucao;
+    private final double limiteSuperior;
+    private final boolean otimoProvado;
+    private final long nosExplorados;
+    private final double tempoSegundos;
+
+    public ResultadoBranchAndBound(CromossomoCircuito melhorSolucao, double limiteSuperior, boolean otimoProvado,
+            long nosExplorados, double tempoSegundos) {
+        this.melhorSolucao = melhorSolucao;
+        this.limiteSuperior = limiteSuperior;
+        this.otimoProvado = otimoProvado;
+        this.nosExplorados = nosExplorados;
+        this.tempoSegundos = tempoSegundos;
+    }
+
+    // Getters
+    public CromossomoCircuito getMelhorSolucao() {
+        return melhorSolucao;
+    }
+
+    public double getMelhorFitness() {
+        return melhorSolucao != null ? melhorSolucao.getFitness() : Double.NEGATIVE_INFINITY;
+    }
+
+    public double getLimiteSuperior() {
+        return limiteSuperior;
+    }
+
+    public boolean isOtimoProvado() {
+        return otimoProvado;
+    }
+
+    public long getNosExplorados() {
+        return nosExplorados;
+    }
+
+    public double getTempoSegundos() {
+        return tempoSegundos;
+    }
+
+    // Diferença relativa entre o limite superior e a melhor solução (100% sem solução viável)
+    public double getGap() {
+        if (limiteSuperior <= 0 || Double.isInfinite(limiteSuperior)) {
+            return 0.0;
+        }
+        return melhorSolucao != null ? (limiteSuperior - getMelhorFitness()) / limiteSuperior : 1.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "BranchAndBound[Fitness=%.4f, LimiteSuperior=%.4f, Gap=%.2f%%, ÓtimoProvado=%s, Nós=%d, Tempo=%.2fs]",
+                getMelhorFitness(), limiteSuperior, getGap() * 100, otimoProvado, nosExplorados, tempoSegundos);
+    }
+}
@@ -0,0 +1,333 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serviço HTTP/JSON local para executar otimizações de circuitos. Aceita jobs
+ * com catálogo, restrições e parâmetros do algoritmo genético (as mesmas
+ * chaves do config.properties), executa-os no GerenciadorJobs e transmite o
+ * progresso.
+ *
+ * Rotas:
+ * - POST /jobs: submete um job
+ * - GET /jobs/{id}: estado e resultado do job
+ * - GET /jobs/{id}/progresso: eventos de progresso em NDJSON até o fim do job
+ * - DELETE /jobs/{id} (cabeçalho X-Assinatura): cancela a assinatura
+ *   devolvida na submissão; o job é cancelado quando nenhuma outra o aguarda
+ * - GET /saude: estatísticas da fila
+ */
+public class ServicoOtimizacao {
+    private static final long INTERVALO_ESPERA_PROGRESSO_MS = 15_000;
+    private static final String CABECALHO_ASSINATURA = "X-Assinatura";
+
+    private final Properties configuracaoBase;
+    private final int populacaoMaxima;
+    private final int geracoesMaximas;
+    private final int catalogoMaximo;
+    private final int corpoMaximoBytes;
+    private final GerenciadorJobs gerenciador;
+    private final HttpServer servidor;
+    private final ExecutorService executorHttp;
+
+    /**
+     * @param host endereço em que o serviço escuta; use o de loopback para
+     *             aceitar apenas conexões da própria máquina
+     */
+    public ServicoOtimizacao(Properties configuracaoBase, String host, int porta) throws IOException {
+        this.configuracaoBase = configuracaoBase;
+        this.populacaoMaxima = Integer.parseInt(configuracaoBase.getProperty("servico_populacao_max", "5000"));
+        this.geracoesMaximas = Integer.parseInt(configuracaoBase.getProperty("servico_geracoes_max", "5000"));
+        this.catalogoMaximo = Integer.parseInt(configuracaoBase.getProperty("servico_catalogo_max", "1000"));
+        this.corpoMaximoBytes = Integer.parseInt(configuracaoBase.getProperty("servico_corpo_max_bytes", "1048576"));
+        this.gerenciador = new GerenciadorJobs(
+                Integer.parseInt(configuracaoBase.getProperty("servico_workers",
+                        String.valueOf(Runtime.getRuntime().availableProcessors()))),
+                Integer.parseInt(configuracaoBase.getProperty("servico_fila_max", "1000")),
+                Integer.parseInt(configuracaoBase.getProperty("servico_jobs_retidos_max", "500")));
+
+        this.executorHttp = Executors.newCachedThreadPool();
+        this.servidor = HttpServer.create(new InetSocketAddress(host, porta), 0);
+        this.servidor.setExecutor(executorHttp);
+        this.servidor.createContext("/jobs", this::tratarJobs);
+        this.servidor.createContext("/saude", this::tratarSaude);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Properties config = Main.carregarConfiguracao();
+        String host = config.getProperty("servico_host", "127.0.0.1");
+        int porta = Integer.parseInt(config.getProperty("servico_porta", "8080"));
+
+        ServicoOtimizacao servico = new ServicoOtimizacao(config, host, porta);
+        Runtime.getRuntime().addShutdownHook(new Thread(servico::parar));
+        servico.iniciar();
+
+        System.out.println("Serviço de otimização ouvindo em " + host + ":" + porta);
+    }
+
+    public void iniciar() {
+        servidor.start();
+    }
+
+    public void parar() {
+        gerenciador.encerrar();
+        servidor.stop(0);
+        executorHttp.shutdownNow();
+    }
+
+    private void tratarSaude(HttpExchange troca) throws IOException {
+        try (troca) {
+            if (!"GET".equals(troca.getRequestMethod())) {
+                responderErro(troca, 405, "Método não permitido");
+                return;
+            }
+            responder(troca, 200, gerenciador.estatisticas());
+        }
+    }
+
+    private void tratarJobs(HttpExchange troca) throws IOException {
+        try (troca) {
+            String metodo = troca.getRequestMethod();
+            String[] partes = troca.getRequestURI().getPath().replaceAll("/+$", "").split("/");
+
+            // partes: ["", "jobs"], ["", "jobs", id] ou ["", "jobs", id, "progresso"]
+            if (partes.length == 2 && "POST".equals(metodo)) {
+                submeterJob(troca);
+            } else if (partes.length == 3 && "GET".equals(metodo)) {
+                consultarJob(troca, partes[2]);
+            } else if (partes.length == 3 && "DELETE".equals(metodo)) {
+                cancelarJob(troca, partes[2]);
+            } else if (partes.length == 4 && "progresso".equals(partes[3]) && "GET".equals(metodo)) {
+                transmitirProgresso(troca, partes[2]);
+            } else if (partes.length >= 2 && partes.length <= 4) {
+                responderErro(troca, 405, "Método não permitido");
+            } else {
+                responderErro(troca, 404, "Rota não encontrada");
+            }
+        }
+    }
+
+    private void submeterJob(HttpExchange troca) throws IOException {
+        ProblemaCircuito problema;
+        Properties configuracao;
+        String cliente;
+
+        String corpo = lerCorpo(troca);
+        if (corpo == null) {
+            responderErro(troca, 413, "Corpo da requisição excede o máximo do serviço (" + corpoMaximoBytes
+                    + " bytes)");
+            return;
+        }
+
+        try {
+            Object json = Json.ler(corpo.isBlank() ? "{}" : corpo);
+            if (!(json instanceof Map)) {
+                throw new IllegalArgumentException("O corpo deve ser um objeto JSON");
+            }
+            Map<?, ?> requisicao = (Map<?, ?>) json;
+
+            cliente = requisicao.get("cliente") != null ? requisicao.get("cliente").toString() : "anonimo";
+            configuracao = lerConfiguracao(requisicao.get("configuracao"));
+            problema = ProblemaCircuito.aPartirDeConfiguracao(lerCatalogo(requisicao.get("catalogo")), configuracao);
+
+            // Valida os parâmetros do algoritmo e os limites do serviço agora, em vez de falhar no worker
+            AlgoritmoGeneticoCircuito.aPartirDeConfiguracao(problema, configuracao, new AvaliadorFitnessSincrono());
+            validarLimites(configuracao);
+        } catch (IllegalArgumentException | ClassCastException e) {
+            responderErro(troca, 400, "Requisição inválida: " + e.getMessage());
+            return;
+        }
+
+        GerenciadorJobs.Submissao submissao;
+        try {
+            submissao = gerenciador.submeter(cliente, problema, configuracao);
+        } catch (IllegalStateException e) {
+            responderErro(troca, 503, e.getMessage());
+            return;
+        }
+
+        // A assinatura só é devolvida aqui, a quem submeteu
+        Map<String, Object> resposta = submissao.getJob().paraJson();
+        resposta.put("cache", submissao.isDoCache());
+        resposta.put("assinatura", submissao.getAssinatura());
+        troca.getResponseHeaders().set("Location", "/jobs/" + submissao.getJob().getId());
+        responder(troca, submissao.isDoCache() ? 200 : 202, resposta);
+    }
+
+    // Lê no máximo corpoMaximoBytes; devolve null se o corpo (declarado ou recebido) for maior
+    private String lerCorpo(HttpExchange troca) throws IOException {
+        String tamanhoDeclarado = troca.getRequestHeaders().getFirst("Content-Length");
+        try {
+            if (tamanhoDeclarado != null && Long.parseLong(tamanhoDeclarado.trim()) > corpoMaximoBytes) {
+                return null;
+            }
+        } catch (NumberFormatException e) {
+            // Sem tamanho válido, vale o limite aplicado na leitura
+        }
+
+        byte[] bytes = troca.getRequestBody().readNBytes(corpoMaximoBytes + 1);
+        if (bytes.length > corpoMaximoBytes) {
+            return null;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void consultarJob(HttpExchange troca, String id) throws IOException {
+        JobOtimizacao job = gerenciador.buscar(id);
+        if (job == null) {
+            responderErro(troca, 404, "Job não encontrado: " + id);
+            return;
+        }
+        responder(troca, 200, job.paraJson());
+    }
+
+    // A assinatura vem no cabeçalho X-Assinatura, como devolvida pelo POST /jobs
+    private void cancelarJob(HttpExchange troca, String id) throws IOException {
+        String assinatura = troca.getRequestHeaders().getFirst(CABECALHO_ASSINATURA);
+        JobOtimizacao job = gerenciador.buscar(id);
+        switch (gerenciador.cancelar(id, assinatura)) {
+            case NAO_ENCONTRADO:
+                responderErro(troca, 404, "Job não encontrado: " + id);
+                return;
+            case ASSINATURA_INVALIDA:
+                responderErro(troca, 403, "Assinatura ausente ou inválida para o job: " + id);
+                return;
+            case JA_FINALIZADO:
+                responderErro(troca, 409, "Job já finalizado: " + id);
+                return;
+            case ASSINATURA_REMOVIDA:
+                // Outras assinaturas ainda aguardam o job: ele continua executando
+                responder(troca, 200, respostaCancelamento(job, false));
+                return;
+            default:
+                responder(troca, 200, respostaCancelamento(job, true));
+        }
+    }
+
+    private static Map<String, Object> respostaCancelamento(JobOtimizacao job, boolean cancelado) {
+        Map<String, Object> resposta = job.paraJson();
+        resposta.put("cancelado", cancelado);
+        return resposta;
+    }
+
+    // Envia cada evento como uma linha JSON assim que ele ocorre, até o fim do job.
+    // Um leitor lento pode perder eventos antigos, visíveis como saltos no campo "sequencia"
+    private void transmitirProgresso(HttpExchange troca, String id) throws IOException {
+        JobOtimizacao job = gerenciador.buscar(id);
+        if (job == null) {
+            responderErro(troca, 404, "Job não encontrado: " + id);
+            return;
+        }
+
+        troca.getResponseHeaders().set("Content-Type", "application/x-ndjson; charset=utf-8");
+        troca.sendResponseHeaders(200, 0);
+        OutputStream saida = troca.getResponseBody();
+
+        long proximo = 0;
+        try {
+            while (true) {
+                List<Map<String, Object>> novos = job.aguardarEventos(proximo, INTERVALO_ESPERA_PROGRESSO_MS);
+                if (novos.isEmpty() && job.isFinalizado()) {
+                    break;
+                }
+                for (Map<String, Object> evento : novos) {
+                    saida.write((Json.escrever(evento) + "\n").getBytes(StandardCharsets.UTF_8));
+                    proximo = ((Number) evento.get("sequencia")).longValue() + 1;
+                }
+                saida.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Parâmetros do job sobrepõem os do config.properties do serviço
+    private Properties lerConfiguracao(Object json) {
+        Properties configuracao = new Properties();
+        configuracao.putAll(configuracaoBase);
+        if (json == null) {
+            return configuracao;
+        }
+
+        for (Map.Entry<?, ?> entrada : ((Map<?, ?>) json).entrySet()) {
+            Object valor = entrada.getValue();
+            String texto;
+            if (valor instanceof Double && (Double) valor == Math.rint((Double) valor)
+                    && !Double.isInfinite((Double) valor)) {
+                texto = String.valueOf(((Double) valor).longValue());
+            } else {
+                texto = String.valueOf(valor);
+            }
+            configuracao.setProperty(entrada.getKey().toString(), texto);
+        }
+        return configuracao;
+    }
+
+    // Limites do serviço (lidos do config.properties, não do job) contra jobs que esgotariam a memória
+    private void validarLimites(Properties configuracao) {
+        validarMaximo("tamanho_populacao", Integer.parseInt(configuracao.getProperty("tamanho_populacao", "100")),
+                populacaoMaxima);
+        validarMaximo("numero_geracoes", Integer.parseInt(configuracao.getProperty("numero_geracoes", "200")),
+                geracoesMaximas);
+    }
+
+    private static void validarMaximo(String campo, int valor, int maximo) {
+        if (valor > maximo) {
+            throw new IllegalArgumentException(campo + " excede o máximo do serviço (" + maximo + "): " + valor);
+        }
+    }
+
+    // Catálogo enviado no job ou, se omitido, o catálogo de exemplo
+    private List<Componente> lerCatalogo(Object json) {
+        if (json == null) {
+            return GeradorComponentes.gerarComponentesExemplo();
+        }
+        validarMaximo("catalogo", ((List<?>) json).size(), catalogoMaximo);
+
+        List<Componente> catalogo = new ArrayList<>();
+        for (Object item : (List<?>) json) {
+            Map<?, ?> comp = (Map<?, ?>) item;
+            catalogo.add(new Componente(
+                    ((Number) obrigatorio(comp, "id")).intValue(),
+                    String.valueOf(obrigatorio(comp, "tipo")),
+                    ((Number) obrigatorio(comp, "custo")).doubleValue(),
+                    ((Number) obrigatorio(comp, "eficiencia")).doubleValue(),
+                    ((Number) obrigatorio(comp, "tamanho")).doubleValue()));
+        }
+        if (catalogo.isEmpty()) {
+            throw new IllegalArgumentException("Catálogo vazio");
+        }
+        return catalogo;
+    }
+
+    private static Object obrigatorio(Map<?, ?> objeto, String campo) {
+        Object valor = objeto.get(campo);
+        if (valor == null) {
+            throw new IllegalArgumentException("Campo obrigatório ausente no componente: " + campo);
+        }
+        return valor;
+    }
+
+    private static void responderErro(HttpExchange troca, int codigo, String mensagem) throws IOException {
+        Map<String, Object> erro = new LinkedHashMap<>();
+        erro.put("erro", mensagem);
+        responder(troca, codigo, erro);
+    }
+
+    private static void responder(HttpExchange troca, int codigo, Object corpo) throws IOException {
+        byte[] bytes = Json.escrever(corpo).getBytes(StandardCharsets.UTF_8);
+        troca.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        troca.sendResponseHeaders(codigo, bytes.length);
+        troca.getResponseBody().write(bytes);
+    }
+}
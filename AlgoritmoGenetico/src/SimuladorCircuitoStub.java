@@ -0,0 +1,33 @@
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Simulador de circuitos falso, usado para testar a avaliação assíncrona.
+ * Imita o custo de um simulador externo (inicialização do subprocesso mais um
+ * tempo por circuito) e devolve o mesmo fitness do cálculo local
+ */
+public class SimuladorCircuitoStub implements Function<List<CromossomoCircuito>, double[]> {
+    private final long latenciaInicializacaoMs;
+    private final long latenciaPorCircuitoMs;
+
+    public SimuladorCircuitoStub(long latenciaInicializacaoMs, long latenciaPorCircuitoMs) {
+        this.latenciaInicializacaoMs = latenciaInicializacaoMs;
+        this.latenciaPorCircuitoMs = latenciaPorCircuitoMs;
+    }
+
+    @Override
+    public double[] apply(List<CromossomoCircuito> lote) {
+        try {
+            Thread.sleep(latenciaInicializacaoMs + latenciaPorCircuitoMs * lote.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulação interrompida", e);
+        }
+
+        double[] resultados = new double[lote.size()];
+        for (int i = 0; i < lote.size(); i++) {
+            resultados[i] = lote.get(i).calcularFitness();
+        }
+        return resultados;
+    }
+}
@@ -0,0 +1,374 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Solucionador branch-and-bound para o mesmo problema do algoritmo genético,
+ * usado como referência de qualidade. Percorre as combinações de componentes
+ * em profundidade e poda os ramos cujo limite superior não supera a melhor
+ * solução conhecida. Se o tempo se esgotar, devolve a melhor solução e um
+ * limite superior válido para o ótimo.
+ *
+ * O limite superior fixa cada quantidade possível de componentes (relaxação
+ * de knapsack por quantidade). Para cada quantidade, os termos não lineares
+ * usam os componentes restantes mais eficientes, menores e mais baratos, e os
+ * termos lineares (eficiência e aproveitamento do orçamento e da placa) usam
+ * o menor entre o limite termo a termo e uma relaxação lagrangiana das
+ * restrições de orçamento e placa.
+ *
+ * O limite de tempo inclui a preparação dos dados e é verificado a cada nó e
+ * antes de cada relaxação lagrangiana; esgotado o tempo, os limites dos ramos
+ * restantes usam apenas os termos baratos. Só soluções viáveis (orçamento,
+ * placa e eficiência mínima) são registradas.
+ * Supõe custos e tamanhos não negativos
+ */
+public class SolucionadorBranchAndBound {
+    // Frações dos pesos de orçamento e placa testadas como multiplicadores de Lagrange
+    private static final double[] FRACOES_MULTIPLICADOR = { 0.0, 0.5, 1.0 };
+
+    private final ProblemaCircuito problema;
+    private final long limiteTempoNanos;
+
+    // Dados preparados em resolver(), dentro do limite de tempo
+    private Componente[] componentes;
+    private double[] custos;
+    private double[] tamanhos;
+    private double[] eficiencias;
+    private double[] maxEficienciaPorCustoSufixo;
+    private double[] valoresLagrangianos;
+
+    // Listas duplamente encadeadas (sentinela na posição n) com os componentes
+    // i..n-1 do nó atual, por tamanho crescente e por eficiência decrescente.
+    // Como os componentes estão ordenados por custo, os custos do sufixo já
+    // estão em ordem e não precisam de lista
+    private int[] proximoTamanho;
+    private int[] anteriorTamanho;
+    private int[] proximoEficiencia;
+    private int[] anteriorEficiencia;
+
+    // Estado da busca
+    private boolean[] selecionados;
+    private CromossomoCircuito melhorSolucao;
+    private double melhorFitness;
+    private double maiorLimiteNaoExplorado;
+    private long nosExplorados;
+    private long prazo;
+    private boolean tempoEsgotado;
+
+    public SolucionadorBranchAndBound(ProblemaCircuito problema, double limiteTempoSegundos) {
+        this.problema = problema;
+        this.limiteTempoNanos = (long) (limiteTempoSegundos * 1_000_000_000L);
+    }
+
+    // Ordena os componentes e monta os dados usados pelos limites superiores, com memória O(n)
+    private void preparar() {
+        // Componentes baratos primeiro: encontra boas soluções (muitos componentes) cedo
+        componentes = problema.getCatalogo().stream()
+                .sorted(Comparator.comparingDouble(Componente::getCusto)
+                        .thenComparingDouble(Componente::getTamanho))
+                .toArray(Componente[]::new);
+
+        int n = componentes.length;
+        custos = new double[n];
+        tamanhos = new double[n];
+        eficiencias = new double[n];
+        for (int j = 0; j < n; j++) {
+            custos[j] = componentes[j].getCusto();
+            tamanhos[j] = componentes[j].getTamanho();
+            eficiencias[j] = componentes[j].getEficienciaEnergetica();
+        }
+
+        maxEficienciaPorCustoSufixo = new double[n + 1];
+        for (int j = n - 1; j >= 0; j--) {
+            maxEficienciaPorCustoSufixo[j] = Math.max(maxEficienciaPorCustoSufixo[j + 1],
+                    eficienciaPorCusto(componentes[j]));
+        }
+
+        Integer[] porTamanho = new Integer[n];
+        Integer[] porEficiencia = new Integer[n];
+        for (int j = 0; j < n; j++) {
+            porTamanho[j] = j;
+            porEficiencia[j] = j;
+        }
+        Arrays.sort(porTamanho, Comparator.comparingDouble(j -> tamanhos[j]));
+        Arrays.sort(porEficiencia, Comparator.comparingDouble(j -> -eficiencias[j]));
+
+        proximoTamanho = new int[n + 1];
+        anteriorTamanho = new int[n + 1];
+        encadear(porTamanho, proximoTamanho, anteriorTamanho);
+        proximoEficiencia = new int[n + 1];
+        anteriorEficiencia = new int[n + 1];
+        encadear(porEficiencia, proximoEficiencia, anteriorEficiencia);
+
+        valoresLagrangianos = new double[n];
+        selecionados = new boolean[n];
+    }
+
+    // Monta a lista circular na ordem dada, com a sentinela na posição n
+    private static void encadear(Integer[] ordem, int[] proximo, int[] anterior) {
+        int sentinela = ordem.length;
+        int ultimo = sentinela;
+        for (int j : ordem) {
+            proximo[ultimo] = j;
+            anterior[j] = ultimo;
+            ultimo = j;
+        }
+        proximo[ultimo] = sentinela;
+        anterior[sentinela] = ultimo;
+    }
+
+    /**
+     * Executa a busca a partir de uma solução inicial opcional (ex.: o resultado
+     * do algoritmo genético), que serve como primeiro limite inferior
+     */
+    public ResultadoBranchAndBound resolver(CromossomoCircuito solucaoInicial) {
+        long inicio = System.nanoTime();
+        prazo = inicio + limiteTempoNanos;
+        tempoEsgotado = false;
+        nosExplorados = 0;
+        maiorLimiteNaoExplorado = Double.NEGATIVE_INFINITY;
+        preparar();
+
+        if (solucaoInicial != null && solucaoInicial.isViavel()) {
+            melhorSolucao = solucaoInicial.clone();
+            melhorFitness = melhorSolucao.getFitness();
+        } else {
+            melhorSolucao = null;
+            melhorFitness = Double.NEGATIVE_INFINITY;
+        }
+
+        explorar(0, 0, 0.0, 0.0, 0.0, 0.0);
+
+        double limiteSuperior = tempoEsgotado
+                ? Math.max(melhorFitness, maiorLimiteNaoExplorado)
+                : melhorFitness;
+        double tempoSegundos = (System.nanoTime() - inicio) / 1e9;
+
+        return new ResultadoBranchAndBound(melhorSolucao, limiteSuperior, !tempoEsgotado, nosExplorados,
+                tempoSegundos);
+    }
+
+    // Busca em profundidade: primeiro inclui o componente i, depois o exclui
+    private void explorar(int i, int numero, double custo, double tamanho, double somaEficiencia,
+            double maxEficienciaPorCusto) {
+        nosExplorados++;
+        verificarPrazo();
+
+        double limite = calcularLimiteSuperior(i, numero, custo, tamanho, somaEficiencia, maxEficienciaPorCusto);
+        if (limite <= melhorFitness) {
+            return;
+        }
+
+        // Sem tempo: guarda o limite do ramo não explorado para o limite global
+        if (tempoEsgotado) {
+            maiorLimiteNaoExplorado = Math.max(maiorLimiteNaoExplorado, limite);
+            return;
+        }
+
+        if (i == componentes.length) {
+            return;
+        }
+
+        Componente comp = componentes[i];
+        double novoCusto = custo + comp.getCusto();
+        double novoTamanho = tamanho + comp.getTamanho();
+
+        // Os filhos consideram apenas os componentes a partir de i + 1
+        remover(i, proximoTamanho, anteriorTamanho);
+        remover(i, proximoEficiencia, anteriorEficiencia);
+
+        if (novoCusto <= problema.getOrcamentoMaximo() &&
+                novoTamanho <= problema.getTamanhoMaximoPlaca()) {
+            selecionados[i] = true;
+
+            int novoNumero = numero + 1;
+            double novaSomaEficiencia = somaEficiencia + comp.getEficienciaEnergetica();
+            double eficienciaMedia = novaSomaEficiencia / novoNumero;
+            double fitness = problema.calcularFitness(novoNumero, novoCusto, eficienciaMedia, novoTamanho);
+            if (fitness > melhorFitness && problema.isViavel(novoCusto, novoTamanho, eficienciaMedia)) {
+                registrarMelhorSolucao();
+            }
+
+            explorar(i + 1, novoNumero, novoCusto, novoTamanho, novaSomaEficiencia,
+                    Math.max(maxEficienciaPorCusto, eficienciaPorCusto(comp)));
+            selecionados[i] = false;
+        }
+
+        explorar(i + 1, numero, custo, tamanho, somaEficiencia, maxEficienciaPorCusto);
+
+        restaurar(i, proximoEficiencia, anteriorEficiencia);
+        restaurar(i, proximoTamanho, anteriorTamanho);
+    }
+
+    // Retira o componente j da lista; restaurar() o devolve, na ordem inversa das remoções
+    private static void remover(int j, int[] proximo, int[] anterior) {
+        proximo[anterior[j]] = proximo[j];
+        anterior[proximo[j]] = anterior[j];
+    }
+
+    private static void restaurar(int j, int[] proximo, int[] anterior) {
+        proximo[anterior[j]] = j;
+        anterior[proximo[j]] = j;
+    }
+
+    private boolean verificarPrazo() {
+        if (!tempoEsgotado && System.nanoTime() > prazo) {
+            tempoEsgotado = true;
+        }
+        return tempoEsgotado;
+    }
+
+    /**
+     * Limite superior do fitness de qualquer solução viável que contenha os
+     * componentes já selecionados e apenas componentes a partir do índice i.
+     * As listas encadeadas devem conter exatamente os componentes i..n-1
+     */
+    private double calcularLimiteSuperior(int i, int numero, double custo, double tamanho, double somaEficiencia,
+            double maxEficienciaPorCusto) {
+        double folgaOrcamento = problema.getOrcamentoMaximo() - custo;
+        double folgaPlaca = problema.getTamanhoMaximoPlaca() - tamanho;
+        int n = componentes.length;
+        int restantes = n - i;
+
+        // Todos os termos dependem da quantidade de componentes: testa cada quantidade possível
+        double melhorLimite = Double.NEGATIVE_INFINITY;
+        double custoMinimo = 0;
+        double tamanhoMinimo = 0;
+        double custoMaximo = 0;
+        double tamanhoMaximo = 0;
+        double eficienciaMaxima = 0;
+        int menor = proximoTamanho[n];
+        int maior = anteriorTamanho[n];
+        int maisEficiente = proximoEficiencia[n];
+
+        for (int extras = 0; extras <= restantes; extras++) {
+            if (extras > 0) {
+                custoMinimo += custos[i + extras - 1];
+                custoMaximo += custos[n - extras];
+                tamanhoMinimo += tamanhos[menor];
+                tamanhoMaximo += tamanhos[maior];
+                eficienciaMaxima += eficiencias[maisEficiente];
+                menor = proximoTamanho[menor];
+                maior = anteriorTamanho[maior];
+                maisEficiente = proximoEficiencia[maisEficiente];
+
+                // Nem os componentes mais baratos/menores cabem: quantidades maiores também não
+                if (custoMinimo > folgaOrcamento || tamanhoMinimo > folgaPlaca) {
+                    break;
+                }
+            }
+
+            int total = numero + extras;
+            if (total == 0) {
+                continue;
+            }
+
+            double eficienciaMedia = (somaEficiencia + eficienciaMaxima) / total;
+            if (eficienciaMedia < problema.getEficienciaMinima()) {
+                continue;
+            }
+
+            double densidade = total / Math.max(tamanho + tamanhoMinimo, 1.0);
+            double limite = (total / ProblemaCircuito.NUMERO_COMPONENTES_REFERENCIA) *
+                    ProblemaCircuito.PESO_NUMERO_COMPONENTES +
+                    Math.min(densidade / 5.0, 0.2);
+            if (total >= 20 && eficienciaMedia >= 0.8) {
+                limite += 0.2;
+            }
+
+            // soma(eficiência)/soma(custo): no máximo a maior razão individual e a razão
+            // entre a maior soma de eficiências e o menor custo com essa quantidade
+            double bonusEficienciaCusto = Math.max(maxEficienciaPorCusto, maxEficienciaPorCustoSufixo[i]);
+            if (custo + custoMinimo > 0) {
+                bonusEficienciaCusto = Math.min(bonusEficienciaCusto,
+                        (somaEficiencia + eficienciaMaxima) / (custo + custoMinimo));
+            }
+            limite += Math.min(bonusEficienciaCusto, 0.15);
+
+            // Eficiência e aproveitamentos de orçamento e placa, cada um com os melhores componentes
+            double termosLineares = eficienciaMedia * problema.getPesoEficiencia() +
+                    Math.min(1.0, (custo + custoMaximo) / problema.getOrcamentoMaximo()) * problema.getPesoCusto() +
+                    Math.min(1.0, (tamanho + tamanhoMaximo) / problema.getTamanhoMaximoPlaca()) *
+                            ProblemaCircuito.PESO_ESPACO;
+
+            // A relaxação lagrangiana (mais cara) só é calculada quando pode mudar o resultado
+            // e ainda há tempo; sem ela o limite continua válido, apenas mais folgado
+            if (extras > 0 && limite + termosLineares > Math.max(melhorLimite, melhorFitness)
+                    && !verificarPrazo()) {
+                termosLineares = Math.min(termosLineares,
+                        calcularLimiteLagrangiano(i, extras, total, custo, tamanho, somaEficiencia));
+            }
+            limite += termosLineares;
+
+            melhorLimite = Math.max(melhorLimite, limite);
+        }
+
+        return melhorLimite;
+    }
+
+    /**
+     * Limite dos termos lineares (eficiência, orçamento e placa) escolhendo
+     * exatamente 'extras' componentes a partir do índice i. Com a quantidade
+     * fixa, esses termos são uma soma de pesos por componente; as restrições de
+     * orçamento e placa entram com multiplicadores de Lagrange. Qualquer par de
+     * multiplicadores não negativos dá um limite válido, então usa o menor
+     * entre os pares testados
+     */
+    private double calcularLimiteLagrangiano(int i, int extras, int total, double custo, double tamanho,
+            double somaEficiencia) {
+        double pesoCustoUnitario = problema.getPesoCusto() / problema.getOrcamentoMaximo();
+        double pesoEspacoUnitario = ProblemaCircuito.PESO_ESPACO / problema.getTamanhoMaximoPlaca();
+        double pesoEficienciaUnitario = problema.getPesoEficiencia() / total;
+        double folgaOrcamento = problema.getOrcamentoMaximo() - custo;
+        double folgaPlaca = problema.getTamanhoMaximoPlaca() - tamanho;
+        int restantes = componentes.length - i;
+
+        double fixo = somaEficiencia * pesoEficienciaUnitario + custo * pesoCustoUnitario +
+                tamanho * pesoEspacoUnitario;
+        double melhor = Double.POSITIVE_INFINITY;
+
+        for (double fracaoOrcamento : FRACOES_MULTIPLICADOR) {
+            for (double fracaoPlaca : FRACOES_MULTIPLICADOR) {
+                // Os dois multiplicadores no máximo equivalem ao limite termo a termo
+                if (fracaoOrcamento == 1.0 && fracaoPlaca == 1.0) {
+                    continue;
+                }
+                double multiplicadorOrcamento = fracaoOrcamento * pesoCustoUnitario;
+                double multiplicadorPlaca = fracaoPlaca * pesoEspacoUnitario;
+
+                for (int j = 0; j < restantes; j++) {
+                    Componente comp = componentes[i + j];
+                    valoresLagrangianos[j] = comp.getEficienciaEnergetica() * pesoEficienciaUnitario +
+                            comp.getCusto() * (pesoCustoUnitario - multiplicadorOrcamento) +
+                            comp.getTamanho() * (pesoEspacoUnitario - multiplicadorPlaca);
+                }
+                Arrays.sort(valoresLagrangianos, 0, restantes);
+
+                double limite = fixo + multiplicadorOrcamento * folgaOrcamento + multiplicadorPlaca * folgaPlaca;
+                for (int j = restantes - extras; j < restantes; j++) {
+                    limite += valoresLagrangianos[j];
+                }
+                melhor = Math.min(melhor, limite);
+            }
+        }
+
+        return melhor;
+    }
+
+    private void registrarMelhorSolucao() {
+        List<Componente> escolhidos = new ArrayList<>();
+        for (int j = 0; j < componentes.length; j++) {
+            if (selecionados[j]) {
+                escolhidos.add(componentes[j]);
+            }
+        }
+
+        melhorSolucao = new CromossomoCircuito(problema, escolhidos);
+        melhorFitness = melhorSolucao.getFitness();
+    }
+
+    private static double eficienciaPorCusto(Componente comp) {
+        return comp.getCusto() > 0 ? comp.getEficienciaEnergetica() / comp.getCusto() : Double.POSITIVE_INFINITY;
+    }
+}
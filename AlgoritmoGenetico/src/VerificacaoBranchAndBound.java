@@ -0,0 +1,126 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Verificação do branch-and-bound por força bruta em instâncias pequenas e
+ * aleatórias: o ótimo provado deve ser igual ao melhor subconjunto viável
+ * (ou não haver solução quando nenhum é viável), a solução devolvida deve ser
+ * viável e o limite superior de uma busca interrompida logo no início não pode
+ * ficar abaixo do ótimo. Parte das instâncias exige uma eficiência mínima
+ * que só um componente acima do orçamento atinge: o limite superior não
+ * descarta a raiz, mas nenhum subconjunto é viável.
+ *
+ * Uso: java VerificacaoBranchAndBound [instancias] [semente]
+ * (termina com código 1 se alguma instância falhar)
+ */
+public class VerificacaoBranchAndBound {
+    private static final int MIN_COMPONENTES = 6;
+    private static final int MAX_COMPONENTES = 18;
+    private static final double TOLERANCIA = 1e-9;
+
+    public static void main(String[] args) {
+        int instancias = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        long semente = args.length > 1 ? Long.parseLong(args[1]) : 7;
+        Random random = new Random(semente);
+
+        int falhas = 0;
+        int semSolucaoViavel = 0;
+        for (int t = 0; t < instancias; t++) {
+            ProblemaCircuito problema = gerarProblema(random, t % 5 == 0);
+            double otimo = otimoPorForcaBruta(problema);
+            if (otimo == Double.NEGATIVE_INFINITY) {
+                semSolucaoViavel++;
+            }
+
+            ResultadoBranchAndBound completo = new SolucionadorBranchAndBound(problema, 60).resolver(null);
+            ResultadoBranchAndBound interrompido = new SolucionadorBranchAndBound(problema, 1e-7).resolver(null);
+
+            String erro = verificar(otimo, completo, interrompido);
+            if (erro != null) {
+                falhas++;
+                System.out.printf("FALHA na instância %d (ótimo %.6f): %s%n  completo: %s%n  interrompido: %s%n",
+                        t, otimo, erro, completo, interrompido);
+            }
+        }
+
+        System.out.printf("%d instâncias verificadas (%d sem solução viável), %d falhas%n",
+                instancias, semSolucaoViavel, falhas);
+        if (falhas > 0) {
+            System.exit(1);
+        }
+    }
+
+    // Devolve a descrição da primeira divergência ou null se o resultado está correto
+    private static String verificar(double otimo, ResultadoBranchAndBound completo,
+            ResultadoBranchAndBound interrompido) {
+        if (!completo.isOtimoProvado()) {
+            return "busca completa não terminou";
+        }
+
+        CromossomoCircuito solucao = completo.getMelhorSolucao();
+        if (otimo == Double.NEGATIVE_INFINITY) {
+            if (solucao != null) {
+                return "solução devolvida sem existir subconjunto viável";
+            }
+        } else if (solucao == null) {
+            return "nenhuma solução devolvida";
+        } else if (!solucao.isViavel()) {
+            return "solução devolvida não é viável";
+        } else if (Math.abs(solucao.getFitness() - otimo) > TOLERANCIA) {
+            return "ótimo diferente da força bruta";
+        }
+
+        if (interrompido.getLimiteSuperior() < otimo - TOLERANCIA) {
+            return "limite superior abaixo do ótimo";
+        }
+        if (interrompido.getMelhorSolucao() != null && !interrompido.getMelhorSolucao().isViavel()) {
+            return "busca interrompida devolveu solução inviável";
+        }
+        return null;
+    }
+
+    private static ProblemaCircuito gerarProblema(Random random, boolean eficienciaInalcancavel) {
+        int n = MIN_COMPONENTES + random.nextInt(MAX_COMPONENTES - MIN_COMPONENTES + 1);
+        List<Componente> catalogo = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            catalogo.add(new Componente(i, "TESTE_" + i,
+                    5 + random.nextDouble() * 150,
+                    0.4 + random.nextDouble() * 0.5,
+                    1 + random.nextDouble() * 25));
+        }
+
+        double orcamento = 200 + random.nextDouble() * 800;
+        double eficienciaMinima = 0.5 + random.nextDouble() * 0.3;
+        if (eficienciaInalcancavel) {
+            catalogo.add(new Componente(n, "PREMIUM", orcamento * 2, 1.0, 1));
+            eficienciaMinima = 0.95;
+        }
+        return new ProblemaCircuito(catalogo,
+                orcamento,
+                30 + random.nextDouble() * 100,
+                eficienciaMinima,
+                random.nextDouble() + 0.01,
+                random.nextDouble() + 0.01);
+    }
+
+    // Melhor fitness entre todos os subconjuntos não vazios viáveis, ou -infinito se não há nenhum
+    private static double otimoPorForcaBruta(ProblemaCircuito problema) {
+        List<Componente> catalogo = problema.getCatalogo();
+        double otimo = Double.NEGATIVE_INFINITY;
+        for (int mascara = 1; mascara < (1 << catalogo.size()); mascara++) {
+            List<Componente> subconjunto = new ArrayList<>();
+            for (int i = 0; i < catalogo.size(); i++) {
+                if ((mascara >> i & 1) == 1) {
+                    subconjunto.add(catalogo.get(i));
+                }
+            }
+
+            CromossomoCircuito cromossomo = new CromossomoCircuito(problema, subconjunto);
+            if (cromossomo.isViavel()) {
+                otimo = Math.max(otimo, cromossomo.getFitness());
+            }
+        }
+        return otimo;
+    }
+}